@@ -1,17 +1,52 @@
 package com.joeyexecutive.dodgeball;
 
 import com.infernalsuite.aswm.api.SlimePlugin;
+import com.joeyexecutive.dodgeball.config.ConfigWatcher;
 import com.joeyexecutive.dodgeball.config.DodgeballConfig;
+import com.joeyexecutive.dodgeball.config.HologramConfig;
+import com.joeyexecutive.dodgeball.game.ArenaTracker;
+import com.joeyexecutive.dodgeball.game.DodgeballGame;
+import com.joeyexecutive.dodgeball.game.GamePool;
 import com.joeyexecutive.dodgeball.game.GameListeners;
+import com.joeyexecutive.dodgeball.game.ScoreboardRenderer;
+import com.joeyexecutive.dodgeball.hologram.HologramService;
+import com.joeyexecutive.dodgeball.hologram.LeaderboardLines;
+import com.joeyexecutive.dodgeball.leaderboard.Leaderboard;
+import com.joeyexecutive.dodgeball.leaderboard.LeaderboardCommand;
+import com.joeyexecutive.dodgeball.leaderboard.LeaderboardService;
+import com.joeyexecutive.dodgeball.loadtest.LoadTestCommand;
+import com.joeyexecutive.dodgeball.message.MessageService;
+import com.joeyexecutive.dodgeball.profiling.Subsystem;
+import com.joeyexecutive.dodgeball.profiling.TickProfiler;
+import com.joeyexecutive.dodgeball.profiling.TickProfilerCommand;
+import com.joeyexecutive.dodgeball.replay.ReplayCommand;
+import com.joeyexecutive.dodgeball.replay.ReplayService;
+import com.joeyexecutive.dodgeball.stats.FileStatsBackend;
+import com.joeyexecutive.dodgeball.stats.StatsService;
 import com.joeyexecutive.dodgeball.util.BukkitTasks;
 import com.joeyexecutive.dodgeball.util.GsonHelper;
+import com.joeyexecutive.dodgeball.util.LoadMonitor;
+import com.joeyexecutive.dodgeball.util.scoreboard.MTSafeScoreboard;
+import com.joeyexecutive.dodgeball.util.scoreboard.NoFlickerSideBar;
+import com.joeyexecutive.dodgeball.world.LocalSlimeLoader;
+import com.joeyexecutive.dodgeball.world.WorldLoadExecutor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.SneakyThrows;
+import org.bukkit.World;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
 
 /**
  * Main Bukkit plugin class which will handle registering commands, listeners, managers etc
@@ -19,10 +54,47 @@ import java.nio.file.Files;
 @Getter
 public class DodgeballPlugin extends JavaPlugin {
 
-    private DodgeballConfig dodgeballConfig;
+    /**
+     * The current config snapshot, swapped atomically whenever config.json is reloaded
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<DodgeballConfig> dodgeballConfig = new AtomicReference<>();
+
+    /**
+     * Single thread that every config reload runs on, so reloads never overlap or block the main thread
+     */
+    @Getter(AccessLevel.NONE)
+    private ExecutorService configExecutor;
+
+    @Getter(AccessLevel.NONE)
+    private ConfigWatcher configWatcher;
 
     private SlimePlugin slimePlugin;
 
+    private TickProfiler tickProfiler;
+
+    private WorldLoadExecutor worldLoadExecutor;
+
+    private StatsService statsService;
+
+    private ReplayService replayService;
+
+    private LoadMonitor loadMonitor;
+
+    private MessageService messageService;
+
+    private MTSafeScoreboard scoreboard;
+
+    private NoFlickerSideBar sideBar;
+
+    private ScoreboardRenderer scoreboardRenderer;
+
+    private GamePool gamePool;
+
+    private LeaderboardService leaderboardService;
+
+    private HologramService hologramService;
+
     @Override
     public void onEnable() {
         slimePlugin = (SlimePlugin) getServer().getPluginManager().getPlugin("SlimeWorldManager");
@@ -33,33 +105,252 @@ public class DodgeballPlugin extends JavaPlugin {
             return;
         }
 
-        BukkitTasks.init(this);
+        tickProfiler = new TickProfiler();
+        BukkitTasks.init(this, tickProfiler);
+
+        configExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "Dodgeball Config Loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // the first load has to finish before anything else can be set up
+        reloadDodgeballConfig().join();
+        watchConfig();
+
+        worldLoadExecutor = new WorldLoadExecutor(
+                getDodgeballConfig().getWorldLoadThreads(),
+                getDodgeballConfig().getWorldLoadQueueCapacity()
+        );
 
-        reloadDodgeballConfig();
+        registerLocalLoader();
 
-        registerListeners(new GameListeners());
+        createStatsService();
+
+        createReplayService();
+
+        loadMonitor = new LoadMonitor(
+                getDodgeballConfig().getLoadGoodMspt(),
+                getDodgeballConfig().getLoadBadMspt(),
+                getDodgeballConfig().getLoadGoodTps(),
+                getDodgeballConfig().getLoadBadTps()
+        );
+
+        messageService = new MessageService(this::getDodgeballConfig);
+
+        scoreboard = new MTSafeScoreboard(this);
+        sideBar = new NoFlickerSideBar(scoreboard);
+        scoreboardRenderer = new ScoreboardRenderer(this, sideBar);
+        gamePool = new GamePool(this, getDodgeballConfig().getGamePoolMaxIdle());
+        leaderboardService = new LeaderboardService(
+                statsService,
+                scoreboard,
+                getDodgeballConfig().getLeaderboardRows(),
+                getDodgeballConfig().getLeaderboardRefreshTicks()
+        );
+        hologramService = new HologramService(
+                getDodgeballConfig().getHologramViewDistance(),
+                getDodgeballConfig().getHologramUpdateTicks()
+        );
+        spawnLeaderboardHolograms();
+
+        tickProfiler.registerEvents(this, Subsystem.LISTENERS, new GameListeners());
+        tickProfiler.registerEvents(this, Subsystem.SCOREBOARD, scoreboardRenderer);
+        tickProfiler.registerEvents(this, Subsystem.LISTENERS, leaderboardService);
+        tickProfiler.registerEvents(this, Subsystem.HOLOGRAMS, hologramService);
+        tickProfiler.registerEvents(this, Subsystem.LISTENERS, replayService);
+        registerListeners(tickProfiler, loadMonitor);
+
+        getCommand("dbprofile").setExecutor(new TickProfilerCommand(tickProfiler));
+        getCommand("dbloadtest").setExecutor(new LoadTestCommand(this));
+        getCommand("dbtop").setExecutor(new LeaderboardCommand(leaderboardService));
+        getCommand("dbreplay").setExecutor(new ReplayCommand(replayService));
+    }
+
+    @Override
+    public void onDisable() {
+        // the scheduler is gone at this point so any arenas still alive are unloaded right here, including
+        // ones halfway through or left behind by a failed teardown
+        for (DodgeballGame game : ArenaTracker.getLiveGames()) {
+            final World world = game.getLoadedWorld();
+            if (world != null) {
+                world.getPlayers().forEach(player -> player.teleport(getServer().getWorlds().get(0).getSpawnLocation()));
+                getServer().unloadWorld(world, false);
+            }
+        }
+
+        if (scoreboardRenderer != null) {
+            scoreboardRenderer.close();
+        }
+
+        if (leaderboardService != null) {
+            leaderboardService.close();
+        }
+
+        if (hologramService != null) {
+            hologramService.close();
+        }
+
+        // closes the scoreboard along with it
+        if (sideBar != null) {
+            sideBar.close();
+        }
+
+        if (worldLoadExecutor != null) {
+            worldLoadExecutor.close();
+        }
+
+        if (statsService != null) {
+            statsService.close();
+        }
+
+        if (replayService != null) {
+            replayService.close();
+        }
+
+        if (configWatcher != null) {
+            try {
+                configWatcher.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (configExecutor != null) {
+            configExecutor.shutdownNow();
+        }
     }
 
     /**
-     * Reloads our config.json file into memory
+     * Get the current config snapshot. Snapshots are never modified after they are published, so hold on to
+     * the returned object (or the {@link com.joeyexecutive.dodgeball.config.MapConfig} from it) for as long
+     * as you need a consistent view
+     * @return The current {@link DodgeballConfig}
      */
-    @SneakyThrows
-    public void reloadDodgeballConfig() {
+    public DodgeballConfig getDodgeballConfig() {
+        return dodgeballConfig.get();
+    }
+
+    /**
+     * Reloads our config.json file into memory on the config thread. The new snapshot is only published once
+     * it has been fully parsed, a file that fails to parse keeps the previous snapshot
+     * @return A future of the newly published snapshot, failed if the file could not be loaded and the
+     * previous snapshot was kept
+     */
+    public CompletableFuture<DodgeballConfig> reloadDodgeballConfig() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                final DodgeballConfig config = readDodgeballConfig();
+                dodgeballConfig.set(config);
+                return config;
+            } catch (IOException | RuntimeException e) {
+                // anything from a bad file to a value that fails validation keeps the previous snapshot
+                throw new CompletionException(e);
+            }
+        }, configExecutor);
+    }
+
+    private DodgeballConfig readDodgeballConfig() throws IOException {
         if (!getDataFolder().exists()) {
             getDataFolder().mkdir();
         }
 
-        File configFile = new File(getDataFolder(), "config.json");
+        final Path configPath = getDataFolder().toPath().resolve("config.json");
 
-        if (!configFile.exists()) {
-            configFile.createNewFile();
-            dodgeballConfig = new DodgeballConfig();
-        } else {
-            dodgeballConfig = GsonHelper.PRETTY_GSON.fromJson(Files.readString(configFile.toPath()), DodgeballConfig.class);
+        final String json = Files.exists(configPath) ? Files.readString(configPath) : "";
+        DodgeballConfig config = GsonHelper.prettyGson().fromJson(json, DodgeballConfig.class);
+        if (config == null) {
+            config = new DodgeballConfig();
         }
 
         // re-save config in case the structure has changed, this will auto re-format
-        Files.writeString(configFile.toPath(), GsonHelper.PRETTY_GSON.toJson(dodgeballConfig));
+        // only written when it actually differs so our own write doesn't trigger another reload
+        final String formatted = GsonHelper.prettyGson().toJson(config);
+        if (!formatted.equals(json)) {
+            final Path temp = configPath.resolveSibling("config.json.tmp");
+            Files.writeString(temp, formatted);
+            Files.move(temp, configPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        return config;
+    }
+
+    /**
+     * Reload config.json whenever it changes on disk
+     */
+    @SneakyThrows
+    private void watchConfig() {
+        configWatcher = new ConfigWatcher(
+                getDataFolder().toPath().resolve("config.json"),
+                () -> reloadDodgeballConfig().whenComplete((config, throwable) -> {
+                    if (throwable != null) {
+                        getLogger().log(Level.WARNING, "Could not reload config.json, keeping the previous config", throwable);
+                        return;
+                    }
+                    getLogger().info("Reloaded config.json");
+                }),
+                getLogger()
+        );
+    }
+
+    /**
+     * Registers our local file SlimeLoader alongside the ones SWM already provides
+     */
+    @SneakyThrows
+    private void registerLocalLoader() {
+        slimePlugin.registerLoader(LocalSlimeLoader.NAME, new LocalSlimeLoader(
+                getDataFolder().toPath().resolve(getDodgeballConfig().getLocalMapsFolder()),
+                getDodgeballConfig().getLocalMapCacheMegabytes() * 1024L * 1024L
+        ));
+    }
+
+    @SneakyThrows
+    private void createStatsService() {
+        final DodgeballConfig config = getDodgeballConfig();
+        statsService = new StatsService(
+                new FileStatsBackend(getDataFolder().toPath().resolve(config.getStatsFolder())),
+                getLogger(),
+                config.getStatsFlushIntervalSeconds(),
+                config.getStatsMaxPendingPlayers(),
+                config.getStatsMaxQueuedPlayers(),
+                config.getStatsBatchSize()
+        );
+    }
+
+    @SneakyThrows
+    private void createReplayService() {
+        replayService = new ReplayService(
+                getDataFolder().toPath().resolve(getDodgeballConfig().getReplayFolder()),
+                getDodgeballConfig().getReplayBufferEvents(),
+                getLogger()
+        );
+    }
+
+    /**
+     * Spawns the configured leaderboard holograms, skipping any whose world or board doesn't exist
+     */
+    private void spawnLeaderboardHolograms() {
+        final DodgeballConfig config = getDodgeballConfig();
+        for (HologramConfig hologram : config.getLeaderboardHolograms()) {
+            final World world = getServer().getWorld(hologram.getWorld());
+            if (world == null) {
+                getLogger().warning("Not spawning the " + hologram.getLeaderboard() + " hologram, world "
+                        + hologram.getWorld() + " is not loaded");
+                continue;
+            }
+
+            final Leaderboard board = leaderboardService.getBoard(hologram.getLeaderboard());
+            if (board == null) {
+                getLogger().warning("Not spawning a hologram in " + hologram.getWorld() + ", there is no leaderboard called "
+                        + hologram.getLeaderboard());
+                continue;
+            }
+
+            hologramService.create(
+                    hologram.getPosition().toLocation(world),
+                    new LeaderboardLines(board, config.getHologramLeaderboardRows(), leaderboardService::getName)
+            );
+        }
     }
 
     private void registerListeners(Listener... listeners) {
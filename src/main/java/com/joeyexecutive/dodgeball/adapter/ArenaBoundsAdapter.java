@@ -0,0 +1,66 @@
+package com.joeyexecutive.dodgeball.adapter;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.joeyexecutive.dodgeball.config.ArenaBounds;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapter for {@link ArenaBounds}. Bounds with a min corner past the max corner are rejected,
+ * they would cover no chunks and the arena would silently never be prewarmed
+ */
+public class ArenaBoundsAdapter extends TypeAdapter<ArenaBounds> {
+
+    @Override
+    public void write(JsonWriter out, ArenaBounds bounds) throws IOException {
+        if (bounds == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("minX").value(bounds.getMinX());
+        out.name("minZ").value(bounds.getMinZ());
+        out.name("maxX").value(bounds.getMaxX());
+        out.name("maxZ").value(bounds.getMaxZ());
+        out.endObject();
+    }
+
+    @Override
+    public ArenaBounds read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        int minX = 0;
+        int minZ = 0;
+        int maxX = 0;
+        int maxZ = 0;
+
+        final String path = in.getPath();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "minX" -> minX = in.nextInt();
+                case "minZ" -> minZ = in.nextInt();
+                case "maxX" -> maxX = in.nextInt();
+                case "maxZ" -> maxZ = in.nextInt();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (minX > maxX || minZ > maxZ) {
+            throw new JsonParseException("Arena bounds at " + path + " have a min corner (" + minX + ", " + minZ
+                    + ") past their max corner (" + maxX + ", " + maxZ + ")");
+        }
+
+        return new ArenaBounds(minX, minZ, maxX, maxZ);
+    }
+
+}
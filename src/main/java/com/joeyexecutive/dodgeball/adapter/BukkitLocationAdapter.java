@@ -1,43 +1,75 @@
 package com.joeyexecutive.dodgeball.adapter;
 
-import com.google.gson.*;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 
 /**
- * Gson adapter for {@link Location}
+ * Streaming Gson adapter for {@link Location}
  */
-public class BukkitLocationAdapter implements JsonSerializer<Location>, JsonDeserializer<Location> {
+public class BukkitLocationAdapter extends TypeAdapter<Location> {
 
     @Override
-    public Location deserialize(JsonElement jsonElement, Type type, JsonDeserializationContext jsonDeserializationContext) throws JsonParseException {
-        final JsonObject object = jsonElement.getAsJsonObject();
-        return new Location(
-                Bukkit.getWorld(object.get("world").getAsString()),
-                object.get("x").getAsDouble(),
-                object.get("y").getAsDouble(),
-                object.get("z").getAsDouble(),
-                object.has("yaw") ? object.get("yaw").getAsFloat() : 0.0F,
-                object.has("pitch") ? object.get("pitch").getAsFloat() : 0.0F
-        );
-    }
+    public void write(JsonWriter out, Location location) throws IOException {
+        if (location == null) {
+            out.nullValue();
+            return;
+        }
 
-    @Override
-    public JsonElement serialize(Location location, Type type, JsonSerializationContext jsonSerializationContext) {
-        final JsonObject object = new JsonObject();
-        object.add("world", new JsonPrimitive(location.getWorld().getName()));
-        object.add("x", new JsonPrimitive(location.getX()));
-        object.add("y", new JsonPrimitive(location.getY()));
-        object.add("z", new JsonPrimitive(location.getZ()));
+        out.beginObject();
+        out.name("world").value(location.getWorld() == null ? null : location.getWorld().getName());
+        out.name("x").value(location.getX());
+        out.name("y").value(location.getY());
+        out.name("z").value(location.getZ());
         if (location.getYaw() != 0) {
-            object.add("yaw", new JsonPrimitive(location.getYaw()));
+            out.name("yaw").value(location.getYaw());
         }
         if (location.getPitch() != 0) {
-            object.add("pitch", new JsonPrimitive(location.getPitch()));
+            out.name("pitch").value(location.getPitch());
         }
-        return object;
+        out.endObject();
+    }
+
+    @Override
+    public Location read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String world = null;
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        float yaw = 0.0F;
+        float pitch = 0.0F;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "world" -> {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                    } else {
+                        world = in.nextString();
+                    }
+                }
+                case "x" -> x = in.nextDouble();
+                case "y" -> y = in.nextDouble();
+                case "z" -> z = in.nextDouble();
+                case "yaw" -> yaw = (float) in.nextDouble();
+                case "pitch" -> pitch = (float) in.nextDouble();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new Location(world == null ? null : Bukkit.getWorld(world), x, y, z, yaw, pitch);
     }
 
 }
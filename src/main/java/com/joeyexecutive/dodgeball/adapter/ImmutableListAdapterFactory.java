@@ -0,0 +1,42 @@
+package com.joeyexecutive.dodgeball.adapter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Gson adapter factory which makes every deserialized {@link List} unmodifiable, so parsed config objects
+ * can be shared between threads as immutable snapshots
+ */
+public class ImmutableListAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        if (typeToken.getRawType() != List.class) {
+            return null;
+        }
+
+        final TypeAdapter<List<?>> delegate = (TypeAdapter<List<?>>) gson.getDelegateAdapter(this, typeToken);
+        return (TypeAdapter<T>) new TypeAdapter<List<?>>() {
+            @Override
+            public void write(JsonWriter out, List<?> value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            public List<?> read(JsonReader in) throws IOException {
+                final List<?> list = delegate.read(in);
+                return list == null ? null : Collections.unmodifiableList(list);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.joeyexecutive.dodgeball.adapter;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Gson adapter factory which makes every deserialized {@link Map} unmodifiable, the {@link Map} counterpart
+ * of {@link ImmutableListAdapterFactory}
+ */
+public class ImmutableMapAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        if (typeToken.getRawType() != Map.class) {
+            return null;
+        }
+
+        final TypeAdapter<Map<?, ?>> delegate = (TypeAdapter<Map<?, ?>>) gson.getDelegateAdapter(this, typeToken);
+        return (TypeAdapter<T>) new TypeAdapter<Map<?, ?>>() {
+            @Override
+            public void write(JsonWriter out, Map<?, ?> value) throws IOException {
+                delegate.write(out, value);
+            }
+
+            @Override
+            public Map<?, ?> read(JsonReader in) throws IOException {
+                final Map<?, ?> map = delegate.read(in);
+                return map == null ? null : Collections.unmodifiableMap(map);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.joeyexecutive.dodgeball.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.joeyexecutive.dodgeball.config.Position;
+
+import java.io.IOException;
+
+/**
+ * Streaming Gson adapter for {@link Position}. A {@code world} key from old configs is accepted and ignored
+ */
+public class PositionAdapter extends TypeAdapter<Position> {
+
+    @Override
+    public void write(JsonWriter out, Position position) throws IOException {
+        if (position == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name("x").value(position.getX());
+        out.name("y").value(position.getY());
+        out.name("z").value(position.getZ());
+        if (position.getYaw() != 0) {
+            out.name("yaw").value(position.getYaw());
+        }
+        if (position.getPitch() != 0) {
+            out.name("pitch").value(position.getPitch());
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Position read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        float yaw = 0.0F;
+        float pitch = 0.0F;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "x" -> x = in.nextDouble();
+                case "y" -> y = in.nextDouble();
+                case "z" -> z = in.nextDouble();
+                case "yaw" -> yaw = (float) in.nextDouble();
+                case "pitch" -> pitch = (float) in.nextDouble();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new Position(x, y, z, yaw, pitch);
+    }
+
+}
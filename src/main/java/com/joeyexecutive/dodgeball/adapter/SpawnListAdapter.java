@@ -0,0 +1,99 @@
+package com.joeyexecutive.dodgeball.adapter;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.joeyexecutive.dodgeball.config.SpawnList;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streaming Gson adapter for {@link SpawnList}. Reads straight into the primitive arrays without building
+ * a JSON tree or any per-spawn objects. A {@code world} key from old configs is accepted and ignored, an empty
+ * list is rejected
+ */
+public class SpawnListAdapter extends TypeAdapter<SpawnList> {
+
+    @Override
+    public void write(JsonWriter out, SpawnList spawns) throws IOException {
+        if (spawns == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginArray();
+        for (int i = 0; i < spawns.size(); i++) {
+            out.beginObject();
+            out.name("x").value(spawns.getX(i));
+            out.name("y").value(spawns.getY(i));
+            out.name("z").value(spawns.getZ(i));
+            if (spawns.getYaw(i) != 0) {
+                out.name("yaw").value(spawns.getYaw(i));
+            }
+            if (spawns.getPitch(i) != 0) {
+                out.name("pitch").value(spawns.getPitch(i));
+            }
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    @Override
+    public SpawnList read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        double[] x = new double[4];
+        double[] y = new double[4];
+        double[] z = new double[4];
+        float[] yaw = new float[4];
+        float[] pitch = new float[4];
+        int size = 0;
+
+        final String path = in.getPath();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (size == x.length) {
+                x = Arrays.copyOf(x, size * 2);
+                y = Arrays.copyOf(y, size * 2);
+                z = Arrays.copyOf(z, size * 2);
+                yaw = Arrays.copyOf(yaw, size * 2);
+                pitch = Arrays.copyOf(pitch, size * 2);
+            }
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "x" -> x[size] = in.nextDouble();
+                    case "y" -> y[size] = in.nextDouble();
+                    case "z" -> z[size] = in.nextDouble();
+                    case "yaw" -> yaw[size] = (float) in.nextDouble();
+                    case "pitch" -> pitch[size] = (float) in.nextDouble();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            size++;
+        }
+        in.endArray();
+
+        // players are spread over the spawns by index, an empty list has nowhere to put them
+        if (size == 0) {
+            throw new JsonParseException("Spawn list at " + path + " is empty, it needs at least one spawn");
+        }
+
+        return new SpawnList(
+                Arrays.copyOf(x, size),
+                Arrays.copyOf(y, size),
+                Arrays.copyOf(z, size),
+                Arrays.copyOf(yaw, size),
+                Arrays.copyOf(pitch, size)
+        );
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.joeyexecutive.dodgeball.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Gson config object holding the horizontal block bounds of an arena, both corners inclusive. Read through
+ * {@link com.joeyexecutive.dodgeball.adapter.ArenaBoundsAdapter}, which rejects a min corner past the max one
+ */
+@Getter
+@RequiredArgsConstructor
+public class ArenaBounds {
+
+    private final int minX;
+
+    private final int minZ;
+
+    private final int maxX;
+
+    private final int maxZ;
+
+    /**
+     * Build the smallest bounds containing every spawn, grown by the padding on each side
+     * @param padding How many blocks to grow the bounds by on every side
+     * @param spawnLists The spawns that must be inside the bounds
+     * @return The bounds
+     */
+    public static ArenaBounds around(int padding, SpawnList... spawnLists) {
+        int minX = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (SpawnList spawns : spawnLists) {
+            for (int i = 0; i < spawns.size(); i++) {
+                final int x = (int) Math.floor(spawns.getX(i));
+                final int z = (int) Math.floor(spawns.getZ(i));
+                minX = Math.min(minX, x);
+                minZ = Math.min(minZ, z);
+                maxX = Math.max(maxX, x);
+                maxZ = Math.max(maxZ, z);
+            }
+        }
+
+        if (minX > maxX) {
+            throw new IllegalArgumentException("Cannot derive arena bounds without any spawns");
+        }
+
+        return new ArenaBounds(minX - padding, minZ - padding, maxX + padding, maxZ + padding);
+    }
+
+    public int getMinChunkX() {
+        return minX >> 4;
+    }
+
+    public int getMinChunkZ() {
+        return minZ >> 4;
+    }
+
+    public int getMaxChunkX() {
+        return maxX >> 4;
+    }
+
+    public int getMaxChunkZ() {
+        return maxZ >> 4;
+    }
+
+    /**
+     * @return how many chunks the bounds cover
+     */
+    public int getChunkCount() {
+        return (getMaxChunkX() - getMinChunkX() + 1) * (getMaxChunkZ() - getMinChunkZ() + 1);
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.joeyexecutive.dodgeball.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Watches a single file with a {@link WatchService} on its own daemon thread and runs a callback whenever it
+ * is created or modified. Bursts of events (editors often write a file several times) are collapsed into
+ * one callback
+ */
+public class ConfigWatcher implements Closeable {
+
+    /**
+     * How long to wait for more events after the first one before firing the callback
+     */
+    private static final long DEBOUNCE_MILLIS = 250L;
+
+    private final Path file;
+
+    private final Runnable onChange;
+
+    private final Logger logger;
+
+    private final WatchService watchService;
+
+    private final Thread thread;
+
+    public ConfigWatcher(Path file, Runnable onChange, Logger logger) throws IOException {
+        this.file = file;
+        this.onChange = onChange;
+        this.logger = logger;
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        file.getParent().register(
+                watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY
+        );
+
+        this.thread = new Thread(this::watch, "Dodgeball Config Watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+
+                // keep draining until the file has been quiet for the debounce period
+                while (key != null) {
+                    changed |= concernsFile(key);
+                    key.reset();
+                    key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                if (changed) {
+                    try {
+                        onChange.run();
+                    } catch (Exception e) {
+                        logger.warning("Config reload failed: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // closed
+        }
+    }
+
+    private boolean concernsFile(WatchKey key) {
+        boolean concerns = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                concerns = true;
+            }
+        }
+        return concerns;
+    }
+
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        watchService.close();
+    }
+
+}
@@ -1,10 +1,10 @@
 package com.joeyexecutive.dodgeball.config;
 
+import com.joeyexecutive.dodgeball.util.scoreboard.MTSafeScoreboardTeam;
 import lombok.Getter;
-import org.bukkit.Bukkit;
-import org.bukkit.Location;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Gson config object that is automatically serialized and deserialized
@@ -20,10 +20,243 @@ public class DodgeballConfig {
                     "dodgeball",
                     "mongodb",
                     "Dodgeball",
-                    new Location(Bukkit.getWorld("world"), 0, 0, 0),
-                    List.of(new Location(Bukkit.getWorld("world"), 0, 0, 0)),
-                    List.of(new Location(Bukkit.getWorld("world"), 0, 0, 0))
+                    new Position(0, 0, 0),
+                    SpawnList.of(new Position(0, 0, 0)),
+                    SpawnList.of(new Position(0, 0, 0))
             )
     );
 
+    /**
+     * How many players are teleported out of an arena per tick when a game ends
+     */
+    private int teardownEvacuationsPerTick = 4;
+
+    /**
+     * How many worlds may be read from SlimeLoaders at the same time
+     */
+    private int worldLoadThreads = 2;
+
+    /**
+     * How many background world loads may be queued before new ones are rejected
+     */
+    private int worldLoadQueueCapacity = 16;
+
+    /**
+     * How long a world load may take, including time spent queued, before it is abandoned
+     */
+    private int worldLoadTimeoutSeconds = 30;
+
+    /**
+     * Folder inside the plugin's data folder that the local SlimeLoader reads .slime files from
+     */
+    private String localMapsFolder = "maps";
+
+    /**
+     * How many megabytes of map data the local SlimeLoader keeps in memory
+     */
+    private int localMapCacheMegabytes = 64;
+
+    /**
+     * How many blocks around the spawn points are treated as arena when a map has no arenaBounds
+     */
+    private int derivedArenaPadding = 32;
+
+    /**
+     * The most chunks an arena may pre-load, maps with larger bounds fail to start
+     */
+    private int maxArenaChunks = 256;
+
+    /**
+     * How many ticks the match start teleports are spread over
+     */
+    private int teleportSpreadTicks = 10;
+
+    /**
+     * How many seconds the countdown lasts once every player is in the arena
+     */
+    private int countdownSeconds = 5;
+
+    /**
+     * Folder inside the plugin's data folder that player stats are stored in
+     */
+    private String statsFolder = "stats";
+
+    /**
+     * How often pending stats changes are written to disk
+     */
+    private int statsFlushIntervalSeconds = 10;
+
+    /**
+     * How many players may have unwritten stats changes before a write is forced early
+     */
+    private int statsMaxPendingPlayers = 512;
+
+    /**
+     * How many players may have unwritten stats changes at most, changes for further players are dropped
+     * until the backend catches up. Bounds memory while the backend is down
+     */
+    private int statsMaxQueuedPlayers = 8192;
+
+    /**
+     * How many players' stats are written per batch
+     */
+    private int statsBatchSize = 64;
+
+    /**
+     * Whether every game is recorded to a replay file
+     */
+    private boolean recordReplays = true;
+
+    /**
+     * Folder inside the plugin's data folder that replays are written to
+     */
+    private String replayFolder = "replays";
+
+    /**
+     * How many replay events a game can buffer before the encoder thread has to catch up
+     */
+    private int replayBufferEvents = 65536;
+
+    /**
+     * How often player positions are sampled into the replay, in ticks
+     */
+    private int replaySampleTicks = 2;
+
+    /**
+     * How many times a player can be hit before they are out
+     */
+    private int startingLives = 3;
+
+    /**
+     * How often changed lives and scores are sent to the tablist, in ticks
+     */
+    private int tablistRefreshTicks = 10;
+
+    /**
+     * How often game sidebars are rebuilt when nothing on them changed, in ticks
+     */
+    private int sidebarRefreshTicks = 20;
+
+    /**
+     * Tick times (ms) at or below this keep cosmetic output at full rate
+     */
+    private double loadGoodMspt = 35.0D;
+
+    /**
+     * Tick times (ms) at or above this drop cosmetic output to its floor rate
+     */
+    private double loadBadMspt = 50.0D;
+
+    /**
+     * TPS at or above this keeps cosmetic output at full rate
+     */
+    private double loadGoodTps = 19.5D;
+
+    /**
+     * TPS at or below this drops cosmetic output to its floor rate
+     */
+    private double loadBadTps = 16.0D;
+
+    /**
+     * Slowest the sidebars are rebuilt under load, in ticks
+     */
+    private int sidebarFloorRefreshTicks = 100;
+
+    /**
+     * Slowest the tablist is refreshed under load, in ticks
+     */
+    private int tablistFloorRefreshTicks = 100;
+
+    /**
+     * Slowest cosmetic spectator updates are sent under load, in ticks between updates
+     */
+    private int spectatorCosmeticFloorTicks = 20;
+
+    /**
+     * How many rows a leaderboard sidebar shows
+     */
+    private int leaderboardRows = 10;
+
+    /**
+     * How often leaderboard sidebars are brought up to date, in ticks
+     */
+    private int leaderboardRefreshTicks = 20;
+
+    /**
+     * Leaderboard holograms spawned when the plugin enables, such as in the lobby
+     */
+    private List<HologramConfig> leaderboardHolograms = List.of();
+
+    /**
+     * How many rows a leaderboard hologram shows
+     */
+    private int hologramLeaderboardRows = 5;
+
+    /**
+     * How close players have to be to see a hologram, in blocks
+     */
+    private double hologramViewDistance = 48.0D;
+
+    /**
+     * How often holograms are updated and shown to or hidden from players nearby, in ticks
+     */
+    private int hologramUpdateTicks = 10;
+
+    /**
+     * Message key -> text, overriding the default text of game messages. Uses &amp; color codes and {name}
+     * placeholders, see {@link com.joeyexecutive.dodgeball.message.Message} for the keys
+     */
+    private Map<String, String> messages = Map.of();
+
+    /**
+     * Locale such as de_de or de -> message key -> text, used for players whose client is set to that locale
+     */
+    private Map<String, Map<String, String>> localizedMessages = Map.of();
+
+    /**
+     * How many finished games are kept around to be reused for new matches
+     */
+    private int gamePoolMaxIdle = 8;
+
+    /**
+     * How long each simulated match of a load test lasts before it ends and a new one is loaded
+     */
+    private int loadTestMatchSeconds = 60;
+
+    /**
+     * How often each synthetic player moves during a load test
+     */
+    private double loadTestMovesPerSecond = 10.0D;
+
+    /**
+     * How often each synthetic player throws a ball during a load test
+     */
+    private double loadTestThrowsPerSecond = 0.5D;
+
+    /**
+     * Chance that a synthetic throw hits someone on the other team
+     */
+    private double loadTestHitChance = 0.25D;
+
+    /**
+     * How often each synthetic player quits and is replaced by a new one from the queue
+     */
+    private double loadTestQuitsPerMinute = 0.5D;
+
+    /**
+     * Whether synthetic players are recorded in stats and leaderboards. Off by default since every synthetic
+     * player would leave a stats file and leaderboard rows behind
+     */
+    private boolean loadTestRecordStats = false;
+
+    /**
+     * Who can see the name tags of players in a game
+     */
+    private MTSafeScoreboardTeam.RuleValue nameTagVisibility = MTSafeScoreboardTeam.RuleValue.ALWAYS;
+
+    /**
+     * Whether players can hit their own team mates
+     */
+    private boolean friendlyFire = false;
+
 }
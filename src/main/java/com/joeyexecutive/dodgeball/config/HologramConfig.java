@@ -0,0 +1,29 @@
+package com.joeyexecutive.dodgeball.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Gson config object placing a leaderboard hologram in a world that is loaded when the plugin enables,
+ * such as the lobby
+ */
+@Getter
+@RequiredArgsConstructor
+public class HologramConfig {
+
+    /**
+     * The name of the Bukkit world
+     */
+    private final String world;
+
+    /**
+     * Where the top line floats
+     */
+    private final Position position;
+
+    /**
+     * The id of the leaderboard to show
+     */
+    private final String leaderboard;
+
+}
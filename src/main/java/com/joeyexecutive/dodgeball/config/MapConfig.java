@@ -2,9 +2,6 @@ package com.joeyexecutive.dodgeball.config;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.bukkit.Location;
-
-import java.util.List;
 
 /**
  * Gson config object holding information about a game map
@@ -31,16 +28,34 @@ public class MapConfig {
     /**
      * Spawn point for the waiting lobby
      */
-    private final Location lobbySpawn;
+    private final Position lobbySpawn;
 
     /**
      * Spawn points for team 1
      */
-    private final List<Location> team1Spawns;
+    private final SpawnList team1Spawns;
 
     /**
      * Spawn points for team 2
      */
-    private final List<Location> team2Spawns;
+    private final SpawnList team2Spawns;
+
+    /**
+     * Optional bounds of the playable arena, derived from the spawn points when missing
+     */
+    private ArenaBounds arenaBounds;
+
+    /**
+     * Get the configured arena bounds, or derive them from the lobby and team spawns
+     * @param padding How many blocks to pad derived bounds by on every side
+     * @return The arena bounds
+     */
+    public ArenaBounds resolveArenaBounds(int padding) {
+        if (arenaBounds != null) {
+            return arenaBounds;
+        }
+
+        return ArenaBounds.around(padding, team1Spawns, team2Spawns, SpawnList.of(lobbySpawn));
+    }
 
 }
@@ -0,0 +1,36 @@
+package com.joeyexecutive.dodgeball.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * Gson config object holding a world independent position, bound to a {@link World} only when a game needs it
+ */
+@Getter
+@RequiredArgsConstructor
+public class Position {
+
+    private final double x;
+
+    private final double y;
+
+    private final double z;
+
+    private final float yaw;
+
+    private final float pitch;
+
+    public Position(double x, double y, double z) {
+        this(x, y, z, 0.0F, 0.0F);
+    }
+
+    /**
+     * @return a new {@link Location} of this position in the provided world
+     */
+    public Location toLocation(World world) {
+        return new Location(world, x, y, z, yaw, pitch);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.joeyexecutive.dodgeball.config;
+
+import com.joeyexecutive.dodgeball.adapter.SpawnListAdapter;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A compact, world independent list of spawn points stored as primitive arrays. Serialized by
+ * {@link SpawnListAdapter} as a JSON array of {@code {x, y, z, yaw, pitch}} objects
+ */
+public final class SpawnList {
+
+    private final double[] x;
+
+    private final double[] y;
+
+    private final double[] z;
+
+    private final float[] yaw;
+
+    private final float[] pitch;
+
+    /**
+     * Arrays are taken as-is and must not be modified afterwards
+     */
+    public SpawnList(double[] x, double[] y, double[] z, float[] yaw, float[] pitch) {
+        if (y.length != x.length || z.length != x.length || yaw.length != x.length || pitch.length != x.length) {
+            throw new IllegalArgumentException("Spawn coordinate arrays must all be the same length");
+        }
+
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+    }
+
+    public static SpawnList of(Position... positions) {
+        final int size = positions.length;
+        final double[] x = new double[size];
+        final double[] y = new double[size];
+        final double[] z = new double[size];
+        final float[] yaw = new float[size];
+        final float[] pitch = new float[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = positions[i].getX();
+            y[i] = positions[i].getY();
+            z[i] = positions[i].getZ();
+            yaw[i] = positions[i].getYaw();
+            pitch[i] = positions[i].getPitch();
+        }
+        return new SpawnList(x, y, z, yaw, pitch);
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    public boolean isEmpty() {
+        return x.length == 0;
+    }
+
+    public double getX(int index) {
+        return x[index];
+    }
+
+    public double getY(int index) {
+        return y[index];
+    }
+
+    public double getZ(int index) {
+        return z[index];
+    }
+
+    public float getYaw(int index) {
+        return yaw[index];
+    }
+
+    public float getPitch(int index) {
+        return pitch[index];
+    }
+
+    /**
+     * Create a {@link Location} for every spawn in the provided world. Do this once per game and keep the
+     * result rather than binding again for every teleport
+     * @param world The arena world
+     * @return An unmodifiable list of locations in the same order as the spawns
+     */
+    public List<Location> bind(World world) {
+        final List<Location> locations = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            locations.add(new Location(world, x[i], y[i], z[i], yaw[i], pitch[i]));
+        }
+        return Collections.unmodifiableList(locations);
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.joeyexecutive.dodgeball.DodgeballPlugin;
+import com.joeyexecutive.dodgeball.profiling.Subsystem;
+import com.joeyexecutive.dodgeball.util.BukkitTasks;
+import com.joeyexecutive.dodgeball.util.MainThreadExecutor;
+import com.joeyexecutive.dodgeball.world.WorldLoadExecutor;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+/**
+ * End of game pipeline for an arena world. Players are evacuated a few per tick, the world is unloaded on the
+ * main thread without saving, then anything left on disk is removed on the plugin's {@link WorldLoadExecutor}
+ */
+public class ArenaTeardown {
+
+    /**
+     * How many ticks we keep trying to evacuate players before unloading anyway
+     */
+    private static final int MAX_EVACUATION_TICKS = 100;
+
+    private final DodgeballPlugin plugin;
+
+    private final World world;
+
+    private final int playersPerTick;
+
+    public ArenaTeardown(DodgeballPlugin plugin, World world, int playersPerTick) {
+        this.plugin = plugin;
+        this.world = world;
+        this.playersPerTick = Math.max(1, playersPerTick);
+    }
+
+    /**
+     * Runs the full teardown pipeline
+     * @return A future which is completed once the world is unloaded and its folder deleted
+     */
+    public CompletableFuture<Void> run() {
+        final long start = System.nanoTime();
+        final Path worldFolder = world.getWorldFolder().toPath();
+
+        return evacuate()
+                .thenRunAsync(this::unloadWorld, MainThreadExecutor.of(Subsystem.WORLD_LOADING))
+                .thenCompose(ignored -> deleteFolderAsync(worldFolder))
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        plugin.getLogger().log(Level.WARNING, "Failed to tear down arena " + world.getName(), throwable);
+                        return;
+                    }
+                    plugin.getLogger().info("Tore down arena " + world.getName() + " in "
+                            + ((System.nanoTime() - start) / 1_000_000) + "ms");
+                });
+    }
+
+    /**
+     * Teleports players out of the world, {@link #playersPerTick} at a time
+     */
+    private CompletableFuture<Void> evacuate() {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final Location fallback = plugin.getServer().getWorlds().get(0).getSpawnLocation();
+
+        final AtomicInteger ticks = new AtomicInteger();
+
+        BukkitTasks.syncTimerWhile(Subsystem.WORLD_LOADING, 1L, () -> {
+            final List<Player> players = world.getPlayers();
+            if (players.isEmpty() || ticks.incrementAndGet() > MAX_EVACUATION_TICKS) {
+                future.complete(null);
+                return false;
+            }
+
+            for (int i = 0; i < Math.min(playersPerTick, players.size()); i++) {
+                players.get(i).teleport(fallback);
+            }
+            return true;
+        });
+
+        return future;
+    }
+
+    private void unloadWorld() {
+        ChunkPrewarmer.release(plugin, world);
+        if (!plugin.getServer().unloadWorld(world, false)) {
+            throw new IllegalStateException("Bukkit refused to unload world " + world.getName());
+        }
+    }
+
+    /**
+     * Queue {@link #deleteFolder(Path)} as background world I/O. The world is already gone by then, so a
+     * folder that couldn't be deleted doesn't fail the teardown
+     */
+    private CompletableFuture<Void> deleteFolderAsync(Path folder) {
+        return plugin.getWorldLoadExecutor().submit(WorldLoadExecutor.Priority.BACKGROUND, null, () -> {
+            deleteFolder(folder);
+            return (Void) null;
+        }).exceptionally(throwable -> {
+            plugin.getLogger().warning("Could not delete " + folder + ": " + throwable.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Slime worlds should never write region files, but Bukkit may still create a folder for them
+     */
+    private void deleteFolder(Path folder) {
+        if (!Files.exists(folder)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Could not delete " + path + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not walk " + folder + ": " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.google.common.collect.Sets;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of every arena world that is currently loaded so we can watch for leaks across many matches
+ */
+public final class ArenaTracker {
+
+    private static final Set<DodgeballGame> LIVE_GAMES = Sets.newConcurrentHashSet();
+
+    private static final AtomicLong CREATED = new AtomicLong();
+
+    private static final AtomicLong TORN_DOWN = new AtomicLong();
+
+    private static final MemoryMXBean MEMORY_BEAN = ManagementFactory.getMemoryMXBean();
+
+    private ArenaTracker() {}
+
+    /**
+     * Called once a game's arena world has been loaded into Bukkit
+     */
+    static void arenaLoaded(DodgeballGame game) {
+        if (LIVE_GAMES.add(game)) {
+            CREATED.incrementAndGet();
+        }
+    }
+
+    /**
+     * Called once a game's arena world has been fully unloaded and released
+     */
+    static void arenaUnloaded(DodgeballGame game) {
+        if (LIVE_GAMES.remove(game)) {
+            TORN_DOWN.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return every game that currently has an arena world loaded
+     */
+    public static Set<DodgeballGame> getLiveGames() {
+        return Collections.unmodifiableSet(LIVE_GAMES);
+    }
+
+    /**
+     * @return the number of arena worlds currently loaded
+     */
+    public static int getLiveArenas() {
+        return LIVE_GAMES.size();
+    }
+
+    /**
+     * @return the number of arenas loaded since the plugin was enabled
+     */
+    public static long getCreatedArenas() {
+        return CREATED.get();
+    }
+
+    /**
+     * @return the number of arenas torn down since the plugin was enabled
+     */
+    public static long getTornDownArenas() {
+        return TORN_DOWN.get();
+    }
+
+    /**
+     * @return the number of heap bytes currently in use by the JVM
+     */
+    public static long getHeapUsedBytes() {
+        return MEMORY_BEAN.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * @return a one line summary of the arena counters and heap usage, used for logging
+     */
+    public static String summary() {
+        return "live arenas: " + getLiveArenas()
+                + ", created: " + getCreatedArenas()
+                + ", torn down: " + getTornDownArenas()
+                + ", heap used: " + (getHeapUsedBytes() / (1024 * 1024)) + "MB";
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.joeyexecutive.dodgeball.config.ArenaBounds;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronously loads every chunk inside an arena's bounds, and nothing outside them, then holds them
+ * loaded with plugin chunk tickets so nobody stalls the main thread loading them when players arrive
+ */
+public class ChunkPrewarmer {
+
+    private final Plugin plugin;
+
+    private final World world;
+
+    private final ArenaBounds bounds;
+
+    public ChunkPrewarmer(Plugin plugin, World world, ArenaBounds bounds, int maxChunks) {
+        if (bounds.getChunkCount() > maxChunks) {
+            throw new IllegalArgumentException("Arena " + world.getName() + " covers " + bounds.getChunkCount()
+                    + " chunks which is over the limit of " + maxChunks);
+        }
+
+        this.plugin = plugin;
+        this.world = world;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Request every chunk in the bounds asynchronously and ticket them once loaded.
+     * Tickets are added as the chunks complete, which Paper does on the main thread
+     * @return A future completed once every chunk is loaded and ticketed
+     */
+    public CompletableFuture<Void> prewarm() {
+        final List<CompletableFuture<Chunk>> futures = new ArrayList<>(bounds.getChunkCount());
+        for (int x = bounds.getMinChunkX(); x <= bounds.getMaxChunkX(); x++) {
+            for (int z = bounds.getMinChunkZ(); z <= bounds.getMaxChunkZ(); z++) {
+                futures.add(world.getChunkAtAsync(x, z).thenApply(chunk -> {
+                    chunk.addPluginChunkTicket(plugin);
+                    return chunk;
+                }));
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Remove every ticket we added, so the chunks can unload with the world
+     * @param plugin The plugin the tickets were added under
+     * @param world The arena world
+     */
+    public static void release(Plugin plugin, World world) {
+        world.removePluginChunkTickets(plugin);
+    }
+
+}
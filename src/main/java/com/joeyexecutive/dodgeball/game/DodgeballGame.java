@@ -5,67 +5,754 @@ import com.infernalsuite.aswm.api.exceptions.NewerFormatException;
 import com.infernalsuite.aswm.api.exceptions.UnknownWorldException;
 import com.infernalsuite.aswm.api.exceptions.WorldLockedException;
 import com.infernalsuite.aswm.api.loaders.SlimeLoader;
+import com.infernalsuite.aswm.api.world.SlimeWorld;
 import com.infernalsuite.aswm.api.world.properties.SlimePropertyMap;
 import com.joeyexecutive.dodgeball.DodgeballPlugin;
+import com.joeyexecutive.dodgeball.config.ArenaBounds;
+import com.joeyexecutive.dodgeball.config.DodgeballConfig;
 import com.joeyexecutive.dodgeball.config.MapConfig;
+import com.joeyexecutive.dodgeball.hologram.Hologram;
+import com.joeyexecutive.dodgeball.message.Arguments;
+import com.joeyexecutive.dodgeball.message.Message;
+import com.joeyexecutive.dodgeball.message.Placeholder;
+import com.joeyexecutive.dodgeball.message.RenderedMessage;
+import com.joeyexecutive.dodgeball.profiling.Subsystem;
+import com.joeyexecutive.dodgeball.replay.ReplayRecorder;
+import com.joeyexecutive.dodgeball.util.BukkitTasks;
 import com.joeyexecutive.dodgeball.util.MainThreadExecutor;
+import com.joeyexecutive.dodgeball.util.Packets;
+import com.joeyexecutive.dodgeball.world.WorldLoadExecutor;
+import lombok.Getter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * An instance of a dodgeball game
- * With this, you could technically instantiate multiple games on the same Spigot server instance
+ * With this, you could technically instantiate multiple games on the same Spigot server instance.
+ * <p>
+ * Games are pooled by the {@link GamePool} and play many matches each. Every match moves through
+ * {@link GameState#WAITING} to {@link GameState#RESET}, after which the game clears what the match left behind
+ * and goes back to the pool for the next one
  */
 public class DodgeballGame {
 
     private final DodgeballPlugin plugin;
 
-    private final MapConfig mapConfig;
+    /**
+     * The map of the current match, set by the pool when the game is handed out
+     */
+    @Getter
+    private volatile MapConfig mapConfig;
 
+    /**
+     * Stays the same for every match this game plays, see {@link #getMatchId()} for one that doesn't
+     */
+    @Getter
     private final String gameId;
 
-    public DodgeballGame(DodgeballPlugin plugin, MapConfig mapConfig) {
+    private final AtomicReference<GameState> state = new AtomicReference<>(GameState.WAITING);
+
+    /**
+     * How many matches this game has been handed out for, including the current one
+     */
+    @Getter
+    private volatile int matchNumber;
+
+    /**
+     * The SlimeWorld our arena was cloned into, null until the map is loaded and after it is torn down
+     */
+    private volatile SlimeWorld slimeWorld;
+
+    /**
+     * The loaded Bukkit world of our arena, null until the map is loaded and after it is torn down
+     */
+    @Getter
+    private volatile World world;
+
+    /**
+     * Our arena world for as long as Bukkit has it loaded. Unlike {@link #world} it is kept while the arena is
+     * torn down and after a teardown fails, so shutdown can still unload it
+     */
+    @Getter
+    private volatile World loadedWorld;
+
+    /**
+     * Stage timings of the most recent {@link #loadMap()}
+     */
+    @Getter
+    private volatile MapLoadTimings loadTimings;
+
+    /**
+     * Each team's spawn points bound to our arena world, created once when the map loads
+     */
+    private final Map<GameTeam, List<Location>> boundSpawns = new EnumMap<>(GameTeam.class);
+
+    /**
+     * The lobby spawn bound to our arena world, null until the map is loaded
+     */
+    @Getter
+    private volatile Location lobbySpawn;
+
+    /**
+     * Floats above the lobby spawn showing the map and player count, null until the map is loaded
+     */
+    private volatile Hologram arenaHologram;
+
+    /**
+     * Records this game to a replay file, null when not recording
+     */
+    @Getter
+    private volatile ReplayRecorder replayRecorder;
+
+    /**
+     * Samples player positions into the replay
+     */
+    private BukkitTask replaySampler;
+
+    /**
+     * The countdown before the match starts, cancelled when the game is reset so a stale one can't start
+     * the next match early
+     */
+    private BukkitTask countdown;
+
+    /**
+     * Offers spectators the live score every tick while the match runs, the channel's load scaled interval
+     * decides how often it is actually sent
+     */
+    private BukkitTask spectatorScore;
+
+    /**
+     * Every player in the game and the team they are on
+     */
+    private final Map<Player, GameTeam> players = new ConcurrentHashMap<>();
+
+    /**
+     * Everyone watching the game without playing in it
+     */
+    @Getter
+    private final SpectatorChannel spectatorChannel;
+
+    /**
+     * Lives each player has left
+     */
+    private final Map<Player, Integer> lives = new ConcurrentHashMap<>();
+
+    /**
+     * Hits each team has scored
+     */
+    private final Map<GameTeam, AtomicInteger> scores = new EnumMap<>(GameTeam.class);
+
+    /**
+     * Whether this match counts towards stats and the leaderboard, turned off for load test matches
+     */
+    private volatile boolean recordingStats = true;
+
+    /**
+     * Whether the {@link ScoreboardRenderer} should snapshot this game at the end of every tick
+     */
+    private volatile boolean rendering = false;
+
+    /**
+     * The server tick the game started playing at
+     */
+    private volatile int startTick;
+
+    /**
+     * Games are created by the {@link GamePool}, which also sets their map
+     */
+    DodgeballGame(DodgeballPlugin plugin) {
         this.plugin = plugin;
-        this.mapConfig = mapConfig;
 
         this.gameId = UUID.randomUUID().toString();
+        this.spectatorChannel = new SpectatorChannel(() -> plugin.getLoadMonitor().scaleInterval(
+                1,
+                plugin.getDodgeballConfig().getSpectatorCosmeticFloorTicks()
+        ));
+
+        for (GameTeam team : GameTeam.values()) {
+            scores.put(team, new AtomicInteger());
+        }
     }
 
     /**
-     * Loads the world from SlimeWorldManager and returns a CompleteableFuture of the loaded Bukkit world
+     * Get ready for the next match, only called by the {@link GamePool} while the game is waiting
+     * @param mapConfig The map the match is played on
      */
-    public CompletableFuture<World> loadMap() {
-        return CompletableFuture.supplyAsync(() -> {
-            SlimeLoader slimeLoader = plugin.getSlimePlugin().getLoader(mapConfig.getSlimeLoader());
-            if (slimeLoader == null) {
-                throw new IllegalArgumentException("SlimeLoader " + mapConfig.getSlimeLoader() + " not found!");
+    void prepare(MapConfig mapConfig) {
+        if (state.get() != GameState.WAITING) {
+            throw new IllegalStateException("Game " + gameId + " can't be prepared while " + state.get());
+        }
+        this.mapConfig = mapConfig;
+        this.matchNumber++;
+    }
+
+    /**
+     * Set whether the current match counts towards stats and the leaderboard, back on for the next match
+     */
+    public void setRecordingStats(boolean recordingStats) {
+        this.recordingStats = recordingStats;
+    }
+
+    public GameState getState() {
+        return state.get();
+    }
+
+    /**
+     * @return an id unique to the current match, used for its replay
+     */
+    public String getMatchId() {
+        return gameId + "-" + matchNumber;
+    }
+
+    private void moveTo(GameState next) {
+        GameState current;
+        do {
+            current = state.get();
+            if (!current.canMoveTo(next)) {
+                throw new IllegalStateException("Game " + gameId + " can't go from " + current + " to " + next);
             }
+        } while (!state.compareAndSet(current, next));
+    }
+
+    /**
+     * Add a player to the game on the provided team
+     * @param player The player
+     * @param team The team to put them on
+     */
+    public void addPlayer(Player player, GameTeam team) {
+        // the game's own sidebar takes over
+        plugin.getLeaderboardService().hide(player);
+        players.put(player, team);
+        lives.put(player, plugin.getDodgeballConfig().getStartingLives());
+    }
+
+    /**
+     * Remove a player from the game
+     * @param player The player
+     * @return Whether the player was in the game
+     */
+    public boolean removePlayer(Player player) {
+        lives.remove(player);
+        return players.remove(player) != null;
+    }
+
+    /**
+     * Move a player to the other team in the middle of a game
+     * @param player The player
+     * @return The team they are now on, or null if they aren't in this game
+     */
+    public GameTeam swapTeam(Player player) {
+        return players.computeIfPresent(player, (key, current) -> current.opposite());
+    }
+
+    /**
+     * @return the team the player is on, or null if they aren't in this game
+     */
+    public GameTeam getTeam(Player player) {
+        return players.get(player);
+    }
+
+    /**
+     * @return every player in the game
+     */
+    public Set<Player> getPlayers() {
+        return Collections.unmodifiableSet(players.keySet());
+    }
+
+    /**
+     * @return how many lives the player has left, 0 if they aren't in this game
+     */
+    public int getLives(Player player) {
+        return lives.getOrDefault(player, 0);
+    }
+
+    /**
+     * @return how many hits the team has scored
+     */
+    public int getScore(GameTeam team) {
+        return scores.get(team).get();
+    }
+
+    /**
+     * Start sending this game's updates to a spectator
+     */
+    public void addSpectator(Player player) {
+        spectatorChannel.addSpectator(player);
+    }
+
+    /**
+     * Stop sending this game's updates to a spectator
+     * @return Whether the player was spectating
+     */
+    public boolean removeSpectator(Player player) {
+        return spectatorChannel.removeSpectator(player);
+    }
 
-            try {
-                return plugin.getSlimePlugin().loadWorld(
-                        slimeLoader,
-                        mapConfig.getSlimeName(),
-                        true,
-                        new SlimePropertyMap()
-                );
-            } catch (UnknownWorldException | IOException | CorruptedWorldException | NewerFormatException | WorldLockedException e) {
-                System.out.println(e.getMessage());
-                return null;
+    /**
+     * Loads the map, prewarms the arena, moves every player to their team spawn and starts the countdown
+     * once they have all arrived
+     * @return A future completed once the countdown has started
+     */
+    public CompletableFuture<Void> start() {
+        moveTo(GameState.STARTING);
+        if (recordingStats) {
+            plugin.getStatsService().preload(players.keySet().stream().map(Player::getUniqueId).collect(Collectors.toList()));
+        }
+
+        return loadMap()
+                .thenCompose(world -> prewarmArena())
+                .thenComposeAsync(ignored -> enterPlayers(), MainThreadExecutor.of(Subsystem.PLAYER_ENTRY))
+                .thenRun(() -> {
+                    startRecording();
+                    showScoreboards();
+                    startCountdown();
+                    startSpectatorScore();
+                });
+    }
+
+    /**
+     * Ends the game, records the result in everyone's stats and tears the arena down
+     * @param winner The team that won
+     * @return A future completed once the arena has been released and the game is back in the pool, or dropped
+     * from it if the arena could not be released
+     */
+    public CompletableFuture<Void> end(GameTeam winner) {
+        moveTo(GameState.ENDING);
+
+        if (recordingStats) {
+            final List<UUID> winners = new ArrayList<>();
+            final List<UUID> losers = new ArrayList<>();
+            players.forEach((player, team) -> (team == winner ? winners : losers).add(player.getUniqueId()));
+            plugin.getStatsService().recordMatch(winners, losers);
+            plugin.getLeaderboardService().recordMatch(winners, losers);
+        }
+
+        stopRecording();
+        stopSpectatorScore();
+        hideScoreboards();
+
+        final RenderedMessage result = plugin.getMessageService().render(Message.GAME_WON, Arguments.of(Placeholder.TEAM, winner), false);
+        result.send(players.keySet());
+        spectatorChannel.broadcast(result::packet);
+        plugin.getLogger().info("Game " + gameId + " ended (" + spectatorChannel.summary() + ")");
+
+        return recycle();
+    }
+
+    /**
+     * Give up on a match without recording any result, such as one whose map failed to load or one still
+     * running when a load test stops
+     * @return A future completed once the arena has been released and the game is back in the pool, or dropped
+     * from it if the arena could not be released
+     */
+    public CompletableFuture<Void> abandon() {
+        // a playing match can only be reset after it has ended, and a counting down one must not start playing
+        // while its arena is torn down
+        state.compareAndSet(GameState.PLAYING, GameState.ENDING);
+        stopCountdown();
+        stopRecording();
+        stopSpectatorScore();
+        hideScoreboards();
+        return recycle();
+    }
+
+    /**
+     * Releases the arena, then resets the game and hands it back to the pool. A game whose arena could not be
+     * released is dropped instead, the next match would clash with the world it left loaded
+     */
+    private CompletableFuture<Void> recycle() {
+        return unloadMap().whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                reset();
+                plugin.getScoreboardRenderer().discard(gameId);
+                plugin.getLogger().warning("Game " + gameId + " was dropped from the pool, its arena is still loaded");
+                return;
+            }
+            moveTo(GameState.RESET);
+            reset();
+            moveTo(GameState.WAITING);
+            plugin.getGamePool().release(this);
+        });
+    }
+
+    /**
+     * Clear everything the last match left behind, keeping the collections themselves for the next match
+     */
+    private void reset() {
+        stopCountdown();
+        stopSpectatorScore();
+
+        players.clear();
+        lives.clear();
+        scores.values().forEach(score -> score.set(0));
+        spectatorChannel.reset();
+        loadTimings = null;
+        startTick = 0;
+        recordingStats = true;
+    }
+
+    /**
+     * Record a ball thrown by a player in this game
+     */
+    public void recordThrow(Player thrower) {
+        if (recordingStats) {
+            plugin.getStatsService().recordThrow(thrower.getUniqueId());
+        }
+    }
+
+    /**
+     * Record a player in this game being hit out by another
+     */
+    public void recordHit(Player thrower, Player victim) {
+        if (recordingStats) {
+            plugin.getStatsService().recordKill(thrower.getUniqueId());
+            plugin.getLeaderboardService().recordKill(thrower.getUniqueId());
+        }
+
+        lives.computeIfPresent(victim, (player, left) -> Math.max(0, left - 1));
+        final GameTeam throwerTeam = players.get(thrower);
+        if (throwerTeam != null) {
+            scores.get(throwerTeam).incrementAndGet();
+        }
+
+        final ReplayRecorder recorder = replayRecorder;
+        if (recorder != null) {
+            recorder.recordHit(thrower.getEntityId(), victim.getEntityId());
+            recorder.recordScore(getScore(GameTeam.TEAM_1), getScore(GameTeam.TEAM_2));
+        }
+
+        // hits are gameplay critical, they are never thinned out under load
+        spectatorChannel.broadcast(plugin.getMessageService().render(
+                Message.HIT,
+                Arguments.of(Placeholder.THROWER, thrower).and(Placeholder.VICTIM, victim),
+                true
+        )::packet);
+    }
+
+    /**
+     * Record a player in this game catching a ball
+     */
+    public void recordCatch(Player catcher) {
+        if (recordingStats) {
+            plugin.getStatsService().recordCatch(catcher.getUniqueId());
+        }
+    }
+
+    /**
+     * Teleports every player to their team's spawn points, spread over a few ticks. Players that could not
+     * be teleported are removed from the game
+     * @return A future completed once every player has arrived
+     */
+    private CompletableFuture<Void> enterPlayers() {
+        final long start = System.nanoTime();
+        final Map<Player, Location> destinations = new HashMap<>();
+        final Map<GameTeam, Integer> spawnIndex = new EnumMap<>(GameTeam.class);
+
+        players.forEach((player, team) -> {
+            final List<Location> spawns = boundSpawns.get(team);
+            final int index = spawnIndex.merge(team, 1, Integer::sum) - 1;
+            destinations.put(player, spawns.get(index % spawns.size()));
+        });
+
+        return new MatchEntryScheduler(destinations, plugin.getDodgeballConfig().getTeleportSpreadTicks())
+                .run()
+                .thenAccept(failed -> {
+                    failed.forEach(this::removePlayer);
+                    plugin.getLogger().info("Moved " + (destinations.size() - failed.size()) + "/" + destinations.size()
+                            + " players into game " + gameId + " in " + ((System.nanoTime() - start) / 1_000_000) + "ms");
+                });
+    }
+
+    /**
+     * Start recording a replay of this game if replays are enabled, sampling player positions on a timer
+     */
+    private void startRecording() {
+        final DodgeballConfig config = plugin.getDodgeballConfig();
+        if (!config.isRecordReplays()) {
+            return;
+        }
+
+        final ReplayRecorder recorder = plugin.getReplayService().startRecording(getMatchId(), mapConfig.getSlimeName());
+        players.keySet().forEach(player -> recorder.recordPlayer(player.getEntityId(), player.getUniqueId(), player.getName()));
+
+        replayRecorder = recorder;
+        replaySampler = BukkitTasks.syncTimer(Subsystem.GAME_LOOP, config.getReplaySampleTicks(), () -> {
+            for (Player player : players.keySet()) {
+                recorder.recordPosition(player.getEntityId(), player.getLocation());
+            }
+        });
+    }
+
+    private void stopRecording() {
+        if (replaySampler != null) {
+            replaySampler.cancel();
+            replaySampler = null;
+        }
+
+        final ReplayRecorder recorder = replayRecorder;
+        if (recorder != null) {
+            replayRecorder = null;
+            recorder.stop();
+        }
+    }
+
+    /**
+     * Copy the state the scoreboards show, called on the main thread at the end of every tick
+     * @param tick The tick that just ended
+     * @return The snapshot, or null if the game isn't showing scoreboards
+     */
+    GameSnapshot snapshot(int tick) {
+        if (!rendering) {
+            return null;
+        }
+
+        final Map<GameTeam, Integer> scoreCopy = new EnumMap<>(GameTeam.class);
+        scores.forEach((team, score) -> scoreCopy.put(team, score.get()));
+        return new GameSnapshot(
+                tick,
+                startTick,
+                gameId,
+                mapConfig.getDisplayName(),
+                Map.copyOf(players),
+                Map.copyOf(lives),
+                Collections.unmodifiableMap(scoreCopy),
+                spectatorChannel.getSpectators()
+        );
+    }
+
+    /**
+     * Start showing the game's sidebar, tablist and name tag teams to every player and spectator
+     */
+    private void showScoreboards() {
+        startTick = Bukkit.getCurrentTick();
+        rendering = true;
+    }
+
+    private void hideScoreboards() {
+        if (rendering) {
+            rendering = false;
+            plugin.getScoreboardRenderer().release(gameId);
+        }
+    }
+
+    private void startSpectatorScore() {
+        spectatorScore = BukkitTasks.syncTimer(Subsystem.GAME_LOOP, 1L, () -> spectatorChannel.broadcastCosmetic(() -> Packets.chat(
+                LegacyComponentSerializer.legacySection().deserialize(
+                        GameTeam.TEAM_1.getColor() + "Team 1 " + ChatColor.WHITE + getScore(GameTeam.TEAM_1)
+                                + ChatColor.GRAY + " - "
+                                + ChatColor.WHITE + getScore(GameTeam.TEAM_2) + " " + GameTeam.TEAM_2.getColor() + "Team 2"
+                ),
+                true
+        )));
+    }
+
+    private void stopSpectatorScore() {
+        if (spectatorScore != null) {
+            spectatorScore.cancel();
+            spectatorScore = null;
+        }
+    }
+
+    private void stopCountdown() {
+        if (countdown != null) {
+            countdown.cancel();
+            countdown = null;
+        }
+    }
+
+    private void startCountdown() {
+        countdown = BukkitTasks.secondsCountdown(plugin.getDodgeballConfig().getCountdownSeconds(), secondsLeft -> {
+            if (secondsLeft == 0) {
+                state.compareAndSet(GameState.STARTING, GameState.PLAYING);
+            }
+
+            // rendered once per locale and shared by every player and spectator
+            final RenderedMessage message = secondsLeft == 0
+                    ? plugin.getMessageService().render(Message.COUNTDOWN_GO, Arguments.NONE, false)
+                    : plugin.getMessageService().render(Message.COUNTDOWN, Arguments.of(Placeholder.SECONDS, secondsLeft), false);
+            message.send(players.keySet());
+            spectatorChannel.broadcast(message::packet);
+        });
+    }
+
+    /**
+     * Shortcut for {@link #loadMap(WorldLoadExecutor.Priority)} for a load players are waiting on
+     */
+    public CompletableFuture<World> loadMap() {
+        return loadMap(WorldLoadExecutor.Priority.PLAYER_WAITING);
+    }
+
+    /**
+     * Loads the world from SlimeWorldManager and returns a CompleteableFuture of the loaded Bukkit world.
+     * Everything up to and including the clone happens on the plugin's {@link WorldLoadExecutor}, only
+     * registering the cloned world with Bukkit is done on the main thread
+     * @param priority How urgently the world is needed
+     */
+    public CompletableFuture<World> loadMap(WorldLoadExecutor.Priority priority) {
+        final MapLoadTimings timings = new MapLoadTimings(gameId, mapConfig.getSlimeName());
+        this.loadTimings = timings;
+
+        return plugin.getWorldLoadExecutor().submit(
+                priority,
+                Duration.ofSeconds(plugin.getDodgeballConfig().getWorldLoadTimeoutSeconds()),
+                () -> readTemplate(timings)
+        ).thenApply(template -> {
+            final long start = System.nanoTime();
+            // cloning only copies chunk and world data in memory, nothing here touches Bukkit
+            final SlimeWorld clone = template.clone(getWorldName());
+            timings.record(MapLoadTimings.Stage.CLONE, start);
+            return clone;
+        }).thenApplyAsync(clone -> {
+            final long start = System.nanoTime();
+
+            plugin.getSlimePlugin().generateWorld(clone);
+
+            this.slimeWorld = clone;
+            this.world = plugin.getServer().getWorld(getWorldName());
+            this.loadedWorld = world;
+            timings.record(MapLoadTimings.Stage.REGISTER, start);
+
+            if (world == null) {
+                throw new IllegalStateException("World " + getWorldName() + " was not registered with Bukkit!");
             }
-        }).thenApplyAsync(slimeWorld -> {
-            if (slimeWorld == null) {
-                throw new IllegalArgumentException("SlimeWorld " + mapConfig.getSlimeName() + " not found!");
+
+            for (GameTeam team : GameTeam.values()) {
+                boundSpawns.put(team, team.getSpawns(mapConfig).bind(world));
             }
+            lobbySpawn = mapConfig.getLobbySpawn().toLocation(world);
+            arenaHologram = plugin.getHologramService().create(lobbySpawn.clone().add(0, 2.5D, 0), this::arenaHologramLines);
 
-            final String worldName = "db" + gameId;
+            ArenaTracker.arenaLoaded(this);
+            plugin.getLogger().info("Loaded map " + mapConfig.getSlimeName() + " for game " + gameId + ": " + timings
+                    + " [loader " + plugin.getWorldLoadExecutor().summary() + "]");
 
-            slimeWorld.clone(worldName);
+            return world;
+        }, MainThreadExecutor.handoff(Subsystem.WORLD_LOADING));
+    }
+
+    /**
+     * Loads and tickets every chunk inside the arena bounds so players can be teleported in without
+     * chunk loads on the main thread. The map must already be loaded
+     * @return A future completed once every arena chunk is loaded
+     */
+    public CompletableFuture<Void> prewarmArena() {
+        final World world = this.world;
+        if (world == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Game " + gameId + " has no map loaded"));
+        }
 
-            return plugin.getServer().getWorld(worldName);
-        }, MainThreadExecutor.MAIN_THREAD_EXECUTOR);
+        final long start = System.nanoTime();
+        final ArenaBounds bounds = mapConfig.resolveArenaBounds(plugin.getDodgeballConfig().getDerivedArenaPadding());
+
+        return CompletableFuture.supplyAsync(
+                () -> new ChunkPrewarmer(plugin, world, bounds, plugin.getDodgeballConfig().getMaxArenaChunks()),
+                MainThreadExecutor.handoff(Subsystem.WORLD_LOADING)
+        ).thenCompose(ChunkPrewarmer::prewarm).thenRun(() -> plugin.getLogger().info("Prewarmed "
+                + bounds.getChunkCount() + " chunks for game " + gameId + " in "
+                + ((System.nanoTime() - start) / 1_000_000) + "ms"));
+    }
+
+    /**
+     * Looks up the SlimeLoader and reads the template world from it, blocking
+     */
+    private SlimeWorld readTemplate(MapLoadTimings timings) throws IOException, CorruptedWorldException,
+            NewerFormatException, UnknownWorldException, WorldLockedException {
+        long start = System.nanoTime();
+        SlimeLoader slimeLoader = plugin.getSlimePlugin().getLoader(mapConfig.getSlimeLoader());
+        if (slimeLoader == null) {
+            throw new IllegalArgumentException("SlimeLoader " + mapConfig.getSlimeLoader() + " not found!");
+        }
+        timings.record(MapLoadTimings.Stage.LOADER_LOOKUP, start);
+
+        start = System.nanoTime();
+        try {
+            return plugin.getSlimePlugin().loadWorld(
+                    slimeLoader,
+                    mapConfig.getSlimeName(),
+                    true,
+                    new SlimePropertyMap()
+            );
+        } finally {
+            timings.record(MapLoadTimings.Stage.READ, start);
+        }
+    }
+
+    /**
+     * Evacuates any players left in the arena, unloads the world without saving and releases the SlimeWorld.
+     * Safe to call more than once, later calls complete immediately
+     * @return A future completed once the arena is fully released, failed if Bukkit kept the world loaded
+     */
+    public CompletableFuture<Void> unloadMap() {
+        final World world = this.world;
+        if (world == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        this.world = null;
+        this.lobbySpawn = null;
+        boundSpawns.clear();
+
+        final Hologram hologram = this.arenaHologram;
+        if (hologram != null) {
+            hologram.remove();
+            this.arenaHologram = null;
+        }
+
+        return new ArenaTeardown(plugin, world, plugin.getDodgeballConfig().getTeardownEvacuationsPerTick())
+                .run()
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        // still loaded, so it stays counted as a live arena and shutdown unloads it
+                        plugin.getLogger().warning("Game " + gameId + " kept its arena after a failed teardown ("
+                                + ArenaTracker.summary() + ")");
+                        return;
+                    }
+                    loadedWorld = null;
+                    slimeWorld = null;
+                    ArenaTracker.arenaUnloaded(this);
+                    plugin.getLogger().info("Released game " + gameId + " (" + ArenaTracker.summary() + ")");
+                });
+    }
+
+    /**
+     * Lines of the hologram above the lobby spawn, rebuilt on every hologram update but only resent when the
+     * player count changes
+     */
+    private List<Component> arenaHologramLines() {
+        return List.of(
+                Component.text(mapConfig.getDisplayName(), NamedTextColor.GOLD),
+                Component.text("Players: ", NamedTextColor.GRAY).append(Component.text(players.size(), NamedTextColor.WHITE))
+        );
+    }
+
+    /**
+     * @return the name of the Bukkit world this game's arena is cloned into
+     */
+    public String getWorldName() {
+        return "db" + gameId;
     }
 
 }
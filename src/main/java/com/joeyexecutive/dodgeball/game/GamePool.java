@@ -0,0 +1,86 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.joeyexecutive.dodgeball.DodgeballPlugin;
+import com.joeyexecutive.dodgeball.config.MapConfig;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out {@link DodgeballGame}s and takes them back once their match has been reset, so the games, their
+ * collections and their scoreboard teams are reused instead of being rebuilt and thrown away every match.
+ * The most recently returned game is handed out first since it is the most likely to still be warm
+ */
+public class GamePool {
+
+    private final DodgeballPlugin plugin;
+
+    /**
+     * How many idle games we hold on to, any more returned than this are dropped
+     */
+    private final int maxIdle;
+
+    private final Deque<DodgeballGame> idle = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Size of {@link #idle}, kept separately since counting a ConcurrentLinkedDeque walks it
+     */
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final AtomicLong created = new AtomicLong();
+
+    private final AtomicLong reused = new AtomicLong();
+
+    public GamePool(DodgeballPlugin plugin, int maxIdle) {
+        this.plugin = plugin;
+        this.maxIdle = Math.max(0, maxIdle);
+    }
+
+    /**
+     * Get a waiting game for a new match, reusing an idle one if there is any
+     * @param mapConfig The map the match is played on
+     * @return The game, in {@link GameState#WAITING}
+     */
+    public DodgeballGame acquire(MapConfig mapConfig) {
+        DodgeballGame game = idle.pollFirst();
+        if (game == null) {
+            game = new DodgeballGame(plugin);
+            created.incrementAndGet();
+        } else {
+            idleCount.decrementAndGet();
+            reused.incrementAndGet();
+        }
+
+        game.prepare(mapConfig);
+        return game;
+    }
+
+    /**
+     * Take back a game that has been reset, called by the game itself
+     */
+    void release(DodgeballGame game) {
+        if (game.getState() != GameState.WAITING) {
+            throw new IllegalStateException("Game " + game.getGameId() + " was returned to the pool while " + game.getState());
+        }
+
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            // it won't be back, so neither will its scoreboards
+            plugin.getScoreboardRenderer().discard(game.getGameId());
+            return;
+        }
+        idle.offerFirst(game);
+    }
+
+    /**
+     * @return a one line summary of the pool, used for logging
+     */
+    public String summary() {
+        return "idle: " + idleCount.get()
+                + ", created: " + created.get()
+                + ", reused: " + reused.get();
+    }
+
+}
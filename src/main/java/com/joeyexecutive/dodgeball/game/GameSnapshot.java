@@ -0,0 +1,64 @@
+package com.joeyexecutive.dodgeball.game;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable copy of the state of a {@link DodgeballGame} at the end of a tick, everything the
+ * {@link ScoreboardRenderer} needs to build a game's scoreboards without touching the live game
+ */
+@Getter
+@RequiredArgsConstructor
+public final class GameSnapshot {
+
+    /**
+     * The server tick this snapshot was taken at
+     */
+    private final int tick;
+
+    /**
+     * The server tick the game started playing at
+     */
+    private final int startTick;
+
+    private final String gameId;
+
+    private final String mapName;
+
+    private final Map<Player, GameTeam> teams;
+
+    private final Map<Player, Integer> lives;
+
+    private final Map<GameTeam, Integer> scores;
+
+    private final Set<Player> spectators;
+
+    /**
+     * @return how many seconds the game has been playing for
+     */
+    public int getElapsedSeconds() {
+        return Math.max(0, tick - startTick) / 20;
+    }
+
+    public int getScore(GameTeam team) {
+        return scores.getOrDefault(team, 0);
+    }
+
+    /**
+     * @return how many players on the team still have lives left
+     */
+    public int getPlayersLeft(GameTeam team) {
+        int left = 0;
+        for (Map.Entry<Player, GameTeam> entry : teams.entrySet()) {
+            if (entry.getValue() == team && lives.getOrDefault(entry.getKey(), 0) > 0) {
+                left++;
+            }
+        }
+        return left;
+    }
+
+}
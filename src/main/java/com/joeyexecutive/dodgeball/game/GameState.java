@@ -0,0 +1,54 @@
+package com.joeyexecutive.dodgeball.game;
+
+/**
+ * Where a pooled {@link DodgeballGame} is in its match lifecycle
+ */
+public enum GameState {
+
+    /**
+     * In the pool or handed out and waiting for players, nothing is loaded
+     */
+    WAITING,
+
+    /**
+     * Loading the map, moving players in and counting down
+     */
+    STARTING,
+
+    /**
+     * The match is being played
+     */
+    PLAYING,
+
+    /**
+     * The result is recorded and the arena is being torn down
+     */
+    ENDING,
+
+    /**
+     * The arena is gone and the game is clearing what the match left behind
+     */
+    RESET;
+
+    /**
+     * @return whether a game in this state may move to the next one
+     */
+    public boolean canMoveTo(GameState next) {
+        switch (this) {
+            case WAITING:
+                // straight to reset when a match is abandoned before it started
+                return next == STARTING || next == RESET;
+            case STARTING:
+                return next == PLAYING || next == ENDING || next == RESET;
+            case PLAYING:
+                return next == ENDING;
+            case ENDING:
+                return next == RESET;
+            case RESET:
+                return next == WAITING;
+            default:
+                return false;
+        }
+    }
+
+}
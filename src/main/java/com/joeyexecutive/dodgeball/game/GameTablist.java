@@ -0,0 +1,177 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.joeyexecutive.dodgeball.util.Packets;
+import com.joeyexecutive.dodgeball.util.scoreboard.MTSafeScoreboard;
+import com.joeyexecutive.dodgeball.util.scoreboard.MTSafeScoreboardObjective;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.DisplaySlot;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A game's view of the tablist. Players are grouped by their {@link MatchTeams} team, their remaining lives
+ * are shown through a {@link DisplaySlot#PLAYER_LIST} objective and the team scores in the header. Changes
+ * are only collected when they happen and are flushed on a fixed interval, so every viewer receives at most
+ * one batch of score deltas per interval no matter how often the values change in between.
+ * <p>
+ * Only used from the {@link ScoreboardRenderer} thread
+ */
+public class GameTablist implements AutoCloseable {
+
+    private final MTSafeScoreboard scoreboard;
+
+    private final String objectiveId;
+
+    private final MTSafeScoreboardObjective livesObjective;
+
+    private final Set<Player> viewers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Player name -> lives changed since the last flush
+     */
+    private final Map<String, Integer> pendingLives = new ConcurrentHashMap<>();
+
+    private final Map<GameTeam, Integer> scores = new ConcurrentHashMap<>();
+
+    private volatile boolean scoresChanged = true;
+
+    /**
+     * Far enough in the past that the first render flushes, without overflowing the subtraction
+     */
+    private int lastFlushTick = Integer.MIN_VALUE / 2;
+
+    /**
+     * @param scoreboard The scoreboard to register the objective with
+     * @param gameId The game this tablist belongs to, used to keep our ids unique
+     */
+    public GameTablist(MTSafeScoreboard scoreboard, String gameId) {
+        this.scoreboard = scoreboard;
+
+        this.objectiveId = "dbtab" + gameId.substring(0, 8);
+        this.livesObjective = scoreboard.newScopedObjective(objectiveId, Component.text("Lives"), DisplaySlot.PLAYER_LIST, Collections.emptySet());
+
+        for (GameTeam team : GameTeam.values()) {
+            scores.put(team, 0);
+        }
+    }
+
+    /**
+     * Queue a player's lives to be shown on the next flush
+     */
+    public void setLives(Player player, int lives) {
+        pendingLives.put(player.getName(), lives);
+    }
+
+    /**
+     * Queue a team's score to be shown on the next flush
+     */
+    public void setScore(GameTeam team, int score) {
+        final Integer previous = scores.put(team, score);
+        if (previous == null || previous != score) {
+            scoresChanged = true;
+        }
+    }
+
+    /**
+     * Start showing the tablist to a player, they are sent the full current state straight away
+     */
+    public void addViewer(Player player) {
+        if (!viewers.add(player)) {
+            return;
+        }
+
+        livesObjective.subscribe(player);
+        Packets.send(headerPacket(), player);
+    }
+
+    public void removeViewer(Player player) {
+        if (viewers.remove(player)) {
+            livesObjective.unsubscribe(player);
+            Packets.send(headerFooter(Component.empty(), Component.empty()), player);
+        }
+    }
+
+    /**
+     * Flush if the refresh interval has passed since the last flush
+     * @param tick The current server tick
+     * @param refreshTicks How often collected changes are sent, may change between calls
+     */
+    public void render(int tick, int refreshTicks) {
+        if (tick - lastFlushTick >= refreshTicks) {
+            lastFlushTick = tick;
+            flush();
+        }
+    }
+
+    /**
+     * Send everything that changed since the last flush. Unchanged lives are skipped by the objective itself
+     */
+    private void flush() {
+        for (String name : List.copyOf(pendingLives.keySet())) {
+            final Integer lives = pendingLives.remove(name);
+            if (lives != null) {
+                livesObjective.setScore(name, lives);
+            }
+        }
+
+        if (scoresChanged) {
+            scoresChanged = false;
+            Packets.send(headerPacket(), viewers);
+        }
+    }
+
+    private PacketContainer headerPacket() {
+        Component header = Component.text("Dodgeball", NamedTextColor.GOLD).append(Component.newline());
+        for (GameTeam team : GameTeam.values()) {
+            header = header.append(Component.text(" " + team + ": ", NamedTextColor.GRAY))
+                    .append(Component.text(scores.getOrDefault(team, 0), NamedTextColor.WHITE));
+        }
+        return headerFooter(header, Component.empty());
+    }
+
+    private static PacketContainer headerFooter(Component header, Component footer) {
+        final PacketContainer packet = Packets.create(PacketType.Play.Server.PLAYER_LIST_HEADER_FOOTER);
+        packet.getChatComponents()
+                .write(0, Packets.convertComponent(header))
+                .write(1, Packets.convertComponent(footer));
+        return packet;
+    }
+
+    /**
+     * Remove the objective and header from every viewer and forget all lives and scores, keeping the
+     * objective for the next match played by a pooled game
+     */
+    public void reset() {
+        final List<Player> previousViewers = List.copyOf(viewers);
+        livesObjective.unsubscribeAll(previousViewers);
+        Packets.send(headerFooter(Component.empty(), Component.empty()), previousViewers);
+        viewers.clear();
+
+        livesObjective.clearScores();
+        pendingLives.clear();
+        for (GameTeam team : GameTeam.values()) {
+            scores.put(team, 0);
+        }
+        scoresChanged = true;
+        lastFlushTick = Integer.MIN_VALUE / 2;
+    }
+
+    /**
+     * Stop refreshing and remove the objective and header from every viewer
+     */
+    @Override
+    public void close() {
+        scoreboard.removeScopedObjective(objectiveId);
+        Packets.send(headerFooter(Component.empty(), Component.empty()), viewers);
+        viewers.clear();
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.joeyexecutive.dodgeball.config.MapConfig;
+import com.joeyexecutive.dodgeball.config.SpawnList;
+import org.bukkit.ChatColor;
+
+import java.util.function.Function;
+
+/**
+ * The two sides of a dodgeball game
+ */
+public enum GameTeam {
+
+    TEAM_1(MapConfig::getTeam1Spawns, ChatColor.RED),
+    TEAM_2(MapConfig::getTeam2Spawns, ChatColor.BLUE);
+
+    private final Function<MapConfig, SpawnList> spawns;
+
+    private final ChatColor color;
+
+    GameTeam(Function<MapConfig, SpawnList> spawns, ChatColor color) {
+        this.spawns = spawns;
+        this.color = color;
+    }
+
+    /**
+     * @return the color this team's name tags are shown in
+     */
+    public ChatColor getColor() {
+        return color;
+    }
+
+    /**
+     * @return this team's spawn points in the map config
+     */
+    public SpawnList getSpawns(MapConfig mapConfig) {
+        return spawns.apply(mapConfig);
+    }
+
+    /**
+     * @return the team on the other side
+     */
+    public GameTeam opposite() {
+        return this == TEAM_1 ? TEAM_2 : TEAM_1;
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.joeyexecutive.dodgeball.profiling.MapLoadStageEvent;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Wall time spent in each stage of {@link DodgeballGame#loadMap()}, so we can see which part of a map load
+ * actually costs the server a tick
+ */
+public class MapLoadTimings {
+
+    public enum Stage {
+        /**
+         * Finding the SlimeLoader (async)
+         */
+        LOADER_LOOKUP(false),
+        /**
+         * Reading the template from the loader and deserializing its chunks (async)
+         */
+        READ(false),
+        /**
+         * Copying the template into a new SlimeWorld for this game (async)
+         */
+        CLONE(false),
+        /**
+         * Registering the cloned world with Bukkit (main thread)
+         */
+        REGISTER(true);
+
+        private final boolean mainThread;
+
+        Stage(boolean mainThread) {
+            this.mainThread = mainThread;
+        }
+
+        public boolean isMainThread() {
+            return mainThread;
+        }
+    }
+
+    private final Map<Stage, Long> nanos = new EnumMap<>(Stage.class);
+
+    private final String gameId;
+
+    private final String mapName;
+
+    /**
+     * @param gameId The game the map is loaded for
+     * @param mapName The map being loaded
+     */
+    MapLoadTimings(String gameId, String mapName) {
+        this.gameId = gameId;
+        this.mapName = mapName;
+    }
+
+    /**
+     * Record how long a stage took
+     * @param stage The stage
+     * @param startNanos The {@link System#nanoTime()} when the stage started
+     */
+    synchronized void record(Stage stage, long startNanos) {
+        final long duration = System.nanoTime() - startNanos;
+        nanos.put(stage, duration);
+
+        final MapLoadStageEvent event = new MapLoadStageEvent();
+        if (event.shouldCommit()) {
+            event.gameId = gameId;
+            event.map = mapName;
+            event.stage = stage.name();
+            event.mainThread = stage.isMainThread();
+            event.stageDuration = duration;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return how long the stage took in nanoseconds, or 0 if it never ran
+     */
+    public synchronized long getNanos(Stage stage) {
+        return nanos.getOrDefault(stage, 0L);
+    }
+
+    /**
+     * @return the total time spent on the main thread in nanoseconds
+     */
+    public synchronized long getMainThreadNanos() {
+        long total = 0;
+        for (Map.Entry<Stage, Long> entry : nanos.entrySet()) {
+            if (entry.getKey().isMainThread()) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringJoiner joiner = new StringJoiner(", ");
+        for (Map.Entry<Stage, Long> entry : nanos.entrySet()) {
+            joiner.add(entry.getKey().name().toLowerCase() + "=" + String.format("%.2fms", entry.getValue() / 1_000_000D)
+                    + (entry.getKey().isMainThread() ? " (main)" : ""));
+        }
+        return joiner.toString();
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.joeyexecutive.dodgeball.profiling.Subsystem;
+import com.joeyexecutive.dodgeball.util.BukkitTasks;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves every player of a game to their spawn at match start. Teleports are async and spread evenly over a
+ * number of ticks instead of all landing in one, and are ordered by chunk so each tick touches as few
+ * (already prewarmed) chunks as possible
+ */
+public class MatchEntryScheduler {
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private final int spreadTicks;
+
+    /**
+     * @param destinations Where every player should be teleported to
+     * @param spreadTicks How many ticks the teleports should be spread over
+     */
+    public MatchEntryScheduler(Map<Player, Location> destinations, int spreadTicks) {
+        this.spreadTicks = Math.max(1, spreadTicks);
+
+        destinations.forEach((player, location) -> entries.add(new Entry(player, location)));
+        entries.sort(Comparator.comparingLong(Entry::chunkKey));
+    }
+
+    /**
+     * Start teleporting, must be called on the main thread
+     * @return A future of the players that failed to arrive, completed once every teleport has finished
+     */
+    public CompletableFuture<List<Player>> run() {
+        final CompletableFuture<List<Player>> arrived = new CompletableFuture<>();
+        final List<Player> failed = new ArrayList<>();
+        final AtomicInteger remaining = new AtomicInteger(entries.size());
+
+        if (entries.isEmpty()) {
+            arrived.complete(failed);
+            return arrived;
+        }
+
+        final int perTick = (entries.size() + spreadTicks - 1) / spreadTicks;
+
+        final AtomicInteger next = new AtomicInteger();
+
+        BukkitTasks.syncTimerWhile(Subsystem.PLAYER_ENTRY, 1L, () -> {
+            final int end = Math.min(entries.size(), next.get() + perTick);
+            for (int index = next.get(); index < end; index++) {
+                final Entry entry = entries.get(index);
+                entry.player.teleportAsync(entry.location).whenComplete((success, throwable) -> {
+                    if (throwable != null || !Boolean.TRUE.equals(success)) {
+                        synchronized (failed) {
+                            failed.add(entry.player);
+                        }
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        arrived.complete(failed);
+                    }
+                });
+            }
+            next.set(end);
+            return end < entries.size();
+        });
+
+        return arrived;
+    }
+
+    private static class Entry {
+
+        private final Player player;
+
+        private final Location location;
+
+        private Entry(Player player, Location location) {
+            this.player = player;
+            this.location = location;
+        }
+
+        private long chunkKey() {
+            return ((long) (location.getBlockX() >> 4) << 32) | ((location.getBlockZ() >> 4) & 0xFFFFFFFFL);
+        }
+
+    }
+
+}
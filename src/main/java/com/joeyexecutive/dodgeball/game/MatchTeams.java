@@ -0,0 +1,118 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.joeyexecutive.dodgeball.util.scoreboard.MTSafeScoreboard;
+import com.joeyexecutive.dodgeball.util.scoreboard.MTSafeScoreboardTeam;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The two scoreboard teams of a single match, seen only by that match's players and spectators. They color
+ * name tags and apply the friendly fire and name tag rules, all through packets on the one shared
+ * {@link MTSafeScoreboard} instead of a Bukkit scoreboard per player.
+ * <p>
+ * Only used from the {@link ScoreboardRenderer} thread
+ */
+public class MatchTeams implements AutoCloseable {
+
+    private final MTSafeScoreboard scoreboard;
+
+    private final Map<GameTeam, MTSafeScoreboardTeam> teams = new EnumMap<>(GameTeam.class);
+
+    /**
+     * @param scoreboard The scoreboard to register the teams with
+     * @param gameId The match these teams belong to, used to keep our ids unique
+     * @param nameTagVisibility Who can see the name tags of the members
+     * @param friendlyFire Whether members can hit their own team
+     */
+    public MatchTeams(
+            MTSafeScoreboard scoreboard,
+            String gameId,
+            MTSafeScoreboardTeam.RuleValue nameTagVisibility,
+            boolean friendlyFire
+    ) {
+        this.scoreboard = scoreboard;
+
+        final String shortId = gameId.substring(0, 8);
+        for (GameTeam team : GameTeam.values()) {
+            // created without viewers so the rules below don't send anything
+            final MTSafeScoreboardTeam scoreboardTeam = scoreboard.newScopedTeam(
+                    "dbt" + team.ordinal() + shortId,
+                    Component.text(team.toString()),
+                    Collections.emptySet()
+            );
+            scoreboardTeam.setPrefix(Component.text("[" + team + "] ", NamedTextColor.GRAY));
+            scoreboardTeam.setColor(team.getColor());
+            scoreboardTeam.setNameTagVisibility(nameTagVisibility);
+            scoreboardTeam.setFriendlyFire(friendlyFire);
+            teams.put(team, scoreboardTeam);
+        }
+    }
+
+    /**
+     * Add players to a team, sent as a single packet to the current viewers. Members added before a viewer
+     * is are included in that viewer's create packet
+     * @param team The team
+     * @param players The players to add
+     */
+    public void addPlayers(GameTeam team, Collection<Player> players) {
+        teams.get(team).addPlayers(players);
+    }
+
+    /**
+     * Start showing the teams to some players, each is sent a single create packet per team carrying the
+     * rules and every member
+     */
+    public void addViewers(Collection<Player> players) {
+        teams.values().forEach(team -> team.subscribeAll(players));
+    }
+
+    public void removeViewer(Player player) {
+        teams.values().forEach(team -> team.unsubscribe(player));
+    }
+
+    /**
+     * Move a player to another team, sent as one removal from their old team and one addition to the new one
+     * @param player The player
+     * @param to The team to move them to
+     */
+    public void swap(Player player, GameTeam to) {
+        teams.get(to.opposite()).removePlayer(player);
+        teams.get(to).addPlayer(player);
+    }
+
+    /**
+     * Take a player off their team
+     */
+    public void removePlayer(Player player) {
+        teams.values().forEach(team -> team.removePlayer(player));
+    }
+
+    /**
+     * Empty both teams for the next match played by a pooled game, keeping the teams and their rules
+     * @param viewers Everyone the teams are currently shown to, they are sent one removal per team
+     */
+    public void reset(Collection<Player> viewers) {
+        for (MTSafeScoreboardTeam team : teams.values()) {
+            team.unsubscribeAll(viewers);
+            // nobody is watching any more, so this only clears our side
+            team.removePlayers(List.copyOf(team.getPlayers()));
+        }
+    }
+
+    /**
+     * Remove both teams from every viewer
+     */
+    @Override
+    public void close() {
+        teams.values().forEach(team -> scoreboard.removeScopedTeam(team.getId()));
+        teams.clear();
+    }
+
+}
@@ -0,0 +1,281 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.joeyexecutive.dodgeball.DodgeballPlugin;
+import com.joeyexecutive.dodgeball.config.DodgeballConfig;
+import com.joeyexecutive.dodgeball.util.LoadMonitor;
+import com.joeyexecutive.dodgeball.util.scoreboard.NoFlickerSideBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Builds every game's sidebar, tablist and name tag teams on a dedicated thread. At the end of every tick the
+ * main thread only copies each playing game into an immutable {@link GameSnapshot}, the render thread diffs
+ * it against the previous snapshot of that game and sends whatever changed. All string formatting, component
+ * building and packet creation for scoreboards happens here
+ */
+public class ScoreboardRenderer implements Listener, Closeable {
+
+    private final DodgeballPlugin plugin;
+
+    private final NoFlickerSideBar sideBar;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "Dodgeball Scoreboard Renderer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Game id -> what we last rendered for it, only touched on the render thread
+     */
+    private final Map<String, RenderState> states = new HashMap<>();
+
+    public ScoreboardRenderer(DodgeballPlugin plugin, NoFlickerSideBar sideBar) {
+        this.plugin = plugin;
+        this.sideBar = sideBar;
+    }
+
+    @EventHandler
+    public void onTickEnd(ServerTickEndEvent event) {
+        for (DodgeballGame game : ArenaTracker.getLiveGames()) {
+            final GameSnapshot snapshot = game.snapshot(event.getTickNumber());
+            if (snapshot != null) {
+                executor.execute(() -> render(snapshot));
+            }
+        }
+    }
+
+    /**
+     * Remove everything rendered for a game from its players and spectators once its match is over. The
+     * game's teams and objective are kept for its next match since pooled games come back with the same id
+     * @param gameId The game
+     */
+    public void release(String gameId) {
+        executor.execute(() -> {
+            final RenderState state = states.get(gameId);
+            if (state != null) {
+                state.reset();
+            }
+        });
+    }
+
+    /**
+     * Drop a game's teams and objective for good, for games that won't be coming back to the pool
+     * @param gameId The game
+     */
+    public void discard(String gameId) {
+        executor.execute(() -> {
+            final RenderState state = states.remove(gameId);
+            if (state != null) {
+                state.close();
+            }
+        });
+    }
+
+    private void render(GameSnapshot snapshot) {
+        try {
+            RenderState state = states.get(snapshot.getGameId());
+            if (state == null) {
+                state = new RenderState(snapshot.getGameId(), plugin.getDodgeballConfig());
+                states.put(snapshot.getGameId(), state);
+            }
+            state.render(snapshot);
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to render scoreboards for game " + snapshot.getGameId(), e);
+        }
+    }
+
+    /**
+     * Remove everything rendered and stop the render thread
+     */
+    @Override
+    public void close() {
+        HandlerList.unregisterAll(this);
+        executor.execute(() -> {
+            states.values().forEach(RenderState::close);
+            states.clear();
+        });
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The scoreboards of a single game and the snapshot they currently show
+     */
+    private class RenderState {
+
+        private final MatchTeams matchTeams;
+
+        private final GameTablist tablist;
+
+        private final Set<Player> viewers = new HashSet<>();
+
+        private GameSnapshot previous;
+
+        private int lastSidebarTick = Integer.MIN_VALUE / 2;
+
+        private RenderState(String gameId, DodgeballConfig config) {
+            this.matchTeams = new MatchTeams(plugin.getScoreboard(), gameId, config.getNameTagVisibility(), config.isFriendlyFire());
+            this.tablist = new GameTablist(plugin.getScoreboard(), gameId);
+        }
+
+        private void render(GameSnapshot snapshot) {
+            final DodgeballConfig config = plugin.getDodgeballConfig();
+            final LoadMonitor load = plugin.getLoadMonitor();
+
+            final boolean changed = renderTeams(snapshot);
+            renderViewers(snapshot);
+            renderTablist(snapshot, load.scaleInterval(Math.max(1, config.getTablistRefreshTicks()), config.getTablistFloorRefreshTicks()));
+
+            // changes are shown straight away unless we are under load, the timer needs a refresh every so
+            // often even if nothing else changed
+            final int sinceLast = snapshot.getTick() - lastSidebarTick;
+            final int floor = config.getSidebarFloorRefreshTicks();
+            if ((changed && sinceLast >= load.scaleInterval(1, floor))
+                    || sinceLast >= load.scaleInterval(Math.max(1, config.getSidebarRefreshTicks()), floor)) {
+                lastSidebarTick = snapshot.getTick();
+                renderSidebars(snapshot);
+            }
+
+            previous = snapshot;
+        }
+
+        /**
+         * @return whether anything a sidebar shows changed
+         */
+        private boolean renderTeams(GameSnapshot snapshot) {
+            final Map<Player, GameTeam> before = previous == null ? Map.of() : previous.getTeams();
+
+            final Map<GameTeam, List<Player>> added = new EnumMap<>(GameTeam.class);
+            snapshot.getTeams().forEach((player, team) -> {
+                final GameTeam old = before.get(player);
+                if (old == null) {
+                    added.computeIfAbsent(team, key -> new ArrayList<>()).add(player);
+                } else if (old != team) {
+                    matchTeams.swap(player, team);
+                }
+            });
+            added.forEach(matchTeams::addPlayers);
+
+            for (Player player : before.keySet()) {
+                if (!snapshot.getTeams().containsKey(player)) {
+                    matchTeams.removePlayer(player);
+                }
+            }
+
+            return previous == null
+                    || !before.equals(snapshot.getTeams())
+                    || !previous.getLives().equals(snapshot.getLives())
+                    || !previous.getScores().equals(snapshot.getScores());
+        }
+
+        private void renderViewers(GameSnapshot snapshot) {
+            final Set<Player> current = new HashSet<>(snapshot.getTeams().keySet());
+            current.addAll(snapshot.getSpectators());
+
+            final List<Player> joined = new ArrayList<>();
+            for (Player player : current) {
+                if (viewers.add(player)) {
+                    joined.add(player);
+                }
+            }
+            if (!joined.isEmpty()) {
+                matchTeams.addViewers(joined);
+                joined.forEach(tablist::addViewer);
+            }
+
+            for (Player player : List.copyOf(viewers)) {
+                if (!current.contains(player)) {
+                    viewers.remove(player);
+                    matchTeams.removeViewer(player);
+                    tablist.removeViewer(player);
+                    sideBar.remove(player);
+                }
+            }
+        }
+
+        private void renderTablist(GameSnapshot snapshot, int refreshTicks) {
+            final Map<Player, Integer> livesBefore = previous == null ? Map.of() : previous.getLives();
+            snapshot.getLives().forEach((player, lives) -> {
+                if (!lives.equals(livesBefore.get(player))) {
+                    tablist.setLives(player, lives);
+                }
+            });
+            for (GameTeam team : GameTeam.values()) {
+                tablist.setScore(team, snapshot.getScore(team));
+            }
+            tablist.render(snapshot.getTick(), refreshTicks);
+        }
+
+        private void renderSidebars(GameSnapshot snapshot) {
+            final int elapsed = snapshot.getElapsedSeconds();
+            final List<Component> shared = new ArrayList<>();
+            shared.add(Component.text("Map: ", NamedTextColor.GRAY).append(Component.text(snapshot.getMapName(), NamedTextColor.WHITE)));
+            shared.add(Component.text("Time: ", NamedTextColor.GRAY)
+                    .append(Component.text(String.format("%d:%02d", elapsed / 60, elapsed % 60), NamedTextColor.WHITE)));
+            shared.add(Component.empty());
+            for (GameTeam team : GameTeam.values()) {
+                shared.add(Component.text(team + ": ", NamedTextColor.GRAY)
+                        .append(Component.text(snapshot.getScore(team) + " hits, " + snapshot.getPlayersLeft(team) + " left", NamedTextColor.WHITE)));
+            }
+
+            final Component title = Component.text("Dodgeball", NamedTextColor.GOLD);
+            for (Player viewer : viewers) {
+                final Integer lives = snapshot.getLives().get(viewer);
+                final List<Component> lines;
+                if (lives == null) {
+                    lines = shared;
+                } else {
+                    lines = new ArrayList<>(shared);
+                    lines.add(Component.empty());
+                    lines.add(Component.text("Your lives: ", NamedTextColor.GRAY).append(Component.text(lives, NamedTextColor.RED)));
+                }
+                sideBar.setTitle(viewer, title);
+                sideBar.setLines(viewer, lines);
+            }
+        }
+
+        /**
+         * Take everything off the viewers and forget the last snapshot, ready for the game's next match
+         */
+        private void reset() {
+            viewers.forEach(sideBar::remove);
+            matchTeams.reset(viewers);
+            tablist.reset();
+            viewers.clear();
+            previous = null;
+            lastSidebarTick = Integer.MIN_VALUE / 2;
+        }
+
+        private void close() {
+            viewers.forEach(sideBar::remove);
+            viewers.clear();
+            tablist.close();
+            matchTeams.close();
+        }
+
+    }
+
+}
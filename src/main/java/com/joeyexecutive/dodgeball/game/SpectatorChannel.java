@@ -0,0 +1,166 @@
+package com.joeyexecutive.dodgeball.game;
+
+import com.comphenix.protocol.events.PacketContainer;
+import com.joeyexecutive.dodgeball.util.Packets;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Fans a game's updates out to its spectators. Every update is built into a packet once by the caller and
+ * that same packet is handed to every spectator's connection, so the cost of an update doesn't grow with the
+ * audience. Updates are either essential (always delivered) or cosmetic (skipped for spectators whose
+ * connection has fallen behind, the next cosmetic update supersedes them anyway). Cosmetic updates are also
+ * thinned out to a minimum interval that grows with server load
+ */
+public class SpectatorChannel {
+
+    /**
+     * Minimum ticks between cosmetic updates
+     */
+    private final IntSupplier cosmeticIntervalTicks;
+
+    private final AtomicInteger lastCosmeticTick = new AtomicInteger(Integer.MIN_VALUE / 2);
+
+    /**
+     * Spectator -> cosmetic packets dropped for them because their connection was backed up
+     */
+    private final Map<Player, AtomicLong> spectators = new ConcurrentHashMap<>();
+
+    private final AtomicLong sent = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param cosmeticIntervalTicks Supplies the minimum ticks between cosmetic updates, asked on every update
+     */
+    public SpectatorChannel(IntSupplier cosmeticIntervalTicks) {
+        this.cosmeticIntervalTicks = cosmeticIntervalTicks;
+    }
+
+    public void addSpectator(Player player) {
+        spectators.putIfAbsent(player, new AtomicLong());
+    }
+
+    public boolean removeSpectator(Player player) {
+        return spectators.remove(player) != null;
+    }
+
+    public boolean isSpectating(Player player) {
+        return spectators.containsKey(player);
+    }
+
+    public Set<Player> getSpectators() {
+        return Set.copyOf(spectators.keySet());
+    }
+
+    /**
+     * Send an update every spectator has to see, such as a hit or the final score
+     * @param packet The update, shared by every spectator so it must not be modified afterwards
+     */
+    public void broadcast(PacketContainer packet) {
+        send(player -> packet, false);
+    }
+
+    /**
+     * Send an update every spectator has to see that differs per spectator, such as a message in their locale
+     * @param packets Picks the packet for a spectator, spectators can share packets
+     */
+    public void broadcast(Function<Player, PacketContainer> packets) {
+        send(packets, false);
+    }
+
+    /**
+     * Send an update that is fine to miss, such as a live score in the action bar. Spectators whose
+     * connection is not writable are skipped, and the whole update is dropped if the last cosmetic update
+     * was too recent
+     * @param packet The update, shared by every spectator so it must not be modified afterwards
+     */
+    public void broadcastCosmetic(PacketContainer packet) {
+        broadcastCosmetic(() -> packet);
+    }
+
+    /**
+     * Same as {@link #broadcastCosmetic(PacketContainer)}, but the packet is only built when the update is
+     * actually sent, so a caller can offer an update every tick and let the interval decide how often it costs
+     * anything
+     * @param packet Builds the update, shared by every spectator so it must not be modified afterwards
+     */
+    public void broadcastCosmetic(Supplier<PacketContainer> packet) {
+        if (spectators.isEmpty()) {
+            return;
+        }
+
+        final int tick = Bukkit.getCurrentTick();
+        final int last = lastCosmeticTick.get();
+        if (tick - last < cosmeticIntervalTicks.getAsInt() || !lastCosmeticTick.compareAndSet(last, tick)) {
+            dropped.addAndGet(spectators.size());
+            return;
+        }
+
+        final PacketContainer built = packet.get();
+        send(player -> built, true);
+    }
+
+    private void send(Function<Player, PacketContainer> packets, boolean cosmetic) {
+        for (Map.Entry<Player, AtomicLong> entry : spectators.entrySet()) {
+            final Player player = entry.getKey();
+            if (!player.isOnline()) {
+                spectators.remove(player);
+                continue;
+            }
+
+            if (cosmetic && !Packets.isWritable(player)) {
+                entry.getValue().incrementAndGet();
+                dropped.incrementAndGet();
+                continue;
+            }
+
+            Packets.send(packets.apply(player), player);
+            sent.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return how many cosmetic packets were dropped for a spectator
+     */
+    public long getDropped(Player player) {
+        final AtomicLong count = spectators.get(player);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return a one line summary of the channel, used for logging
+     */
+    public String summary() {
+        return "spectators: " + spectators.size()
+                + ", sent: " + sent.get()
+                + ", dropped: " + dropped.get();
+    }
+
+    /**
+     * Forget every spectator
+     */
+    public void clear() {
+        spectators.clear();
+    }
+
+    /**
+     * Forget every spectator and zero the counters, for the next match played by a pooled game
+     */
+    public void reset() {
+        clear();
+        sent.set(0);
+        dropped.set(0);
+        lastCosmeticTick.set(Integer.MIN_VALUE / 2);
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.joeyexecutive.dodgeball.hologram;
+
+import com.joeyexecutive.dodgeball.util.Packets;
+import com.joeyexecutive.dodgeball.util.VirtualEntities;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Floating lines of text made of virtual armor stands, one per line. They only exist on the clients of the
+ * players near them, so the server never ticks them and they never end up in a world save. Line changes are
+ * collected and sent on the next update, as one name packet per changed line shared by every viewer.
+ * <p>
+ * {@link #setLines(List)} and {@link #remove()} can be called from any thread, everything else is only used
+ * by the {@link HologramService} on the main thread
+ */
+public class Hologram {
+
+    /**
+     * Blocks between the lines
+     */
+    private static final double LINE_SPACING = 0.25D;
+
+    private final World world;
+
+    private final double x;
+
+    /**
+     * Height of the top line, the others hang below it
+     */
+    private final double y;
+
+    private final double z;
+
+    private final List<Integer> entityIds = new ArrayList<>();
+
+    /**
+     * The lines the viewers currently see
+     */
+    private List<Component> lines = List.of();
+
+    /**
+     * Lines waiting for the next update, null if nothing changed
+     */
+    private final AtomicReference<List<Component>> pending = new AtomicReference<>();
+
+    private final Set<Player> viewers = new HashSet<>();
+
+    private volatile boolean removed = false;
+
+    /**
+     * @param location Where the top line floats
+     * @param lines What to show
+     */
+    Hologram(Location location, List<Component> lines) {
+        this.world = location.getWorld();
+        this.x = location.getX();
+        this.y = location.getY();
+        this.z = location.getZ();
+        setLines(lines);
+    }
+
+    /**
+     * Change what the hologram shows, only the lines that differ are resent on the next update
+     */
+    public void setLines(List<Component> lines) {
+        pending.set(List.copyOf(lines));
+    }
+
+    /**
+     * Take the hologram away from everyone on the next update
+     */
+    public void remove() {
+        removed = true;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * @return whether a location is within range of the hologram, the location must be in its world
+     */
+    boolean isWithin(Location location, double distanceSquared) {
+        final double dx = location.getX() - x;
+        final double dy = location.getY() - y;
+        final double dz = location.getZ() - z;
+        return dx * dx + dy * dy + dz * dz <= distanceSquared;
+    }
+
+    boolean isViewing(Player player) {
+        return viewers.contains(player);
+    }
+
+    Set<Player> getViewers() {
+        return viewers;
+    }
+
+    /**
+     * Spawn every line for a player
+     */
+    void show(Player player) {
+        if (!viewers.add(player)) {
+            return;
+        }
+        for (int i = 0; i < entityIds.size(); i++) {
+            spawn(entityIds.get(i), i, lines.get(i), List.of(player));
+        }
+    }
+
+    /**
+     * Remove every line from a player
+     */
+    void hide(Player player) {
+        if (viewers.remove(player) && !entityIds.isEmpty()) {
+            Packets.send(VirtualEntities.destroy(entityIds), player);
+        }
+    }
+
+    /**
+     * Stop tracking a player whose client already dropped the lines, such as after a world change
+     */
+    void forget(Player player) {
+        viewers.remove(player);
+    }
+
+    /**
+     * Send the pending line changes to every viewer
+     */
+    void update() {
+        final List<Component> next = pending.getAndSet(null);
+        if (next == null) {
+            return;
+        }
+
+        final int kept = Math.min(lines.size(), next.size());
+        for (int i = 0; i < kept; i++) {
+            if (!next.get(i).equals(lines.get(i))) {
+                Packets.send(VirtualEntities.customName(entityIds.get(i), next.get(i)), viewers);
+            }
+        }
+
+        for (int i = kept; i < next.size(); i++) {
+            final int entityId = VirtualEntities.nextEntityId();
+            entityIds.add(entityId);
+            spawn(entityId, i, next.get(i), viewers);
+        }
+
+        if (next.size() < entityIds.size()) {
+            final List<Integer> extra = entityIds.subList(next.size(), entityIds.size());
+            Packets.send(VirtualEntities.destroy(extra), viewers);
+            extra.clear();
+        }
+
+        lines = next;
+    }
+
+    /**
+     * Remove every line from every viewer
+     */
+    void destroy() {
+        if (!entityIds.isEmpty()) {
+            Packets.send(VirtualEntities.destroy(entityIds), viewers);
+        }
+        viewers.clear();
+    }
+
+    private void spawn(int entityId, int line, Component text, Collection<Player> players) {
+        Packets.send(VirtualEntities.spawn(entityId, EntityType.ARMOR_STAND, x, y - line * LINE_SPACING, z), players);
+        Packets.send(VirtualEntities.nameTag(entityId, text), players);
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.joeyexecutive.dodgeball.hologram;
+
+import com.joeyexecutive.dodgeball.profiling.Subsystem;
+import com.joeyexecutive.dodgeball.util.BukkitTasks;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Shows every {@link Hologram} to the players near it. On a fixed interval pending line changes are sent,
+ * players that came within range get the hologram spawned and players that left range get it removed
+ */
+public class HologramService implements Listener, Closeable {
+
+    private final List<Hologram> holograms = new CopyOnWriteArrayList<>();
+
+    /**
+     * Hologram -> builds its lines, for holograms that follow something that changes such as a leaderboard
+     */
+    private final Map<Hologram, Supplier<List<Component>>> sources = new ConcurrentHashMap<>();
+
+    private final double viewDistanceSquared;
+
+    private final BukkitTask task;
+
+    /**
+     * @param viewDistance How close players have to be to see a hologram, in blocks
+     * @param updateTicks How often holograms are updated and culled
+     */
+    public HologramService(double viewDistance, int updateTicks) {
+        this.viewDistanceSquared = viewDistance * viewDistance;
+        this.task = BukkitTasks.syncTimer(Subsystem.HOLOGRAMS, Math.max(1, updateTicks), this::tick);
+    }
+
+    /**
+     * Create a hologram, shown to nearby players from the next update
+     * @param location Where the top line floats
+     * @param lines What to show
+     */
+    public Hologram create(Location location, List<Component> lines) {
+        final Hologram hologram = new Hologram(location, lines);
+        holograms.add(hologram);
+        return hologram;
+    }
+
+    /**
+     * Create a hologram whose lines are rebuilt on every update, only lines that changed are resent
+     * @param location Where the top line floats
+     * @param source Builds the lines, called on the main thread
+     */
+    public Hologram create(Location location, Supplier<List<Component>> source) {
+        final Hologram hologram = create(location, source.get());
+        sources.put(hologram, source);
+        return hologram;
+    }
+
+    private void tick() {
+        for (Hologram hologram : holograms) {
+            if (hologram.isRemoved()) {
+                hologram.destroy();
+                holograms.remove(hologram);
+                sources.remove(hologram);
+                continue;
+            }
+
+            final Supplier<List<Component>> source = sources.get(hologram);
+            if (source != null) {
+                hologram.setLines(source.get());
+            }
+            hologram.update();
+            cull(hologram);
+        }
+    }
+
+    private void cull(Hologram hologram) {
+        for (Player player : List.copyOf(hologram.getViewers())) {
+            if (!player.isOnline() || player.getWorld() != hologram.getWorld()) {
+                hologram.forget(player);
+            }
+        }
+
+        for (Player player : hologram.getWorld().getPlayers()) {
+            if (hologram.isWithin(player.getLocation(), viewDistanceSquared)) {
+                hologram.show(player);
+            } else if (hologram.isViewing(player)) {
+                hologram.hide(player);
+            }
+        }
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        holograms.forEach(hologram -> hologram.forget(event.getPlayer()));
+    }
+
+    /**
+     * The client drops every entity when changing worlds or respawning, they are spawned again by the next cull
+     */
+    @EventHandler
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        holograms.forEach(hologram -> hologram.forget(event.getPlayer()));
+    }
+
+    @EventHandler
+    public void onRespawn(PlayerRespawnEvent event) {
+        holograms.forEach(hologram -> hologram.forget(event.getPlayer()));
+    }
+
+    /**
+     * Stop updating and remove every hologram from its viewers
+     */
+    @Override
+    public void close() {
+        HandlerList.unregisterAll(this);
+        task.cancel();
+        holograms.forEach(Hologram::destroy);
+        holograms.clear();
+        sources.clear();
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.joeyexecutive.dodgeball.hologram;
+
+import com.joeyexecutive.dodgeball.leaderboard.Leaderboard;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builds the lines of a leaderboard hologram, only rebuilding them when the board has changed since the last
+ * call so an unchanged board costs nothing per update
+ */
+public class LeaderboardLines implements Supplier<List<Component>> {
+
+    private final Leaderboard board;
+
+    private final int rows;
+
+    private final Function<UUID, String> names;
+
+    /**
+     * The {@link Leaderboard#getVersion()} the lines were built from
+     */
+    private long builtVersion = -1;
+
+    private List<Component> lines = List.of();
+
+    /**
+     * @param board The board to show
+     * @param rows How many rows to show below the title
+     * @param names Looks up the name to show for a player
+     */
+    public LeaderboardLines(Leaderboard board, int rows, Function<UUID, String> names) {
+        this.board = board;
+        this.rows = rows;
+        this.names = names;
+    }
+
+    @Override
+    public List<Component> get() {
+        final long version = board.getVersion();
+        if (version == builtVersion) {
+            return lines;
+        }
+        builtVersion = version;
+
+        final List<Leaderboard.Entry> top = board.getTop(rows);
+        final List<Component> built = new ArrayList<>(top.size() + 1);
+        built.add(Component.text(board.getTitle(), NamedTextColor.GOLD));
+        for (Leaderboard.Entry entry : top) {
+            built.add(Component.text("#" + entry.getRank() + " ", NamedTextColor.YELLOW)
+                    .append(Component.text(names.apply(entry.getUuid()) + " ", NamedTextColor.WHITE))
+                    .append(Component.text(Math.round(entry.getScore()), NamedTextColor.GRAY)));
+        }
+        lines = built;
+        return lines;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.joeyexecutive.dodgeball.leaderboard;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A live ranking of players by a single score, such as rating or kills today. Updates and rank lookups are
+ * O(log n) and reading the top rows is O(k), so it can be fed every match result without ever re-sorting the
+ * player base. Safe to use from any thread
+ */
+public class Leaderboard {
+
+    @Getter
+    private final String id;
+
+    @Getter
+    private final String title;
+
+    private final RankedIndex index = new RankedIndex();
+
+    /**
+     * Bumped on every change, lets renderers skip a board that hasn't changed since they last looked
+     */
+    private volatile long version;
+
+    /**
+     * @param id Short id used in commands and scoreboard ids
+     * @param title What the board is called when shown to players
+     */
+    public Leaderboard(String id, String title) {
+        this.id = id;
+        this.title = title;
+    }
+
+    /**
+     * Set a player's score, players with a score of 0 or less are taken off the board
+     */
+    public synchronized void set(UUID uuid, double score) {
+        final boolean changed = score > 0 ? index.put(uuid, score) : index.remove(uuid);
+        if (changed) {
+            version++;
+        }
+    }
+
+    /**
+     * Add to a player's score
+     */
+    public synchronized void increment(UUID uuid, double amount) {
+        set(uuid, index.get(uuid) + amount);
+    }
+
+    public synchronized double getScore(UUID uuid) {
+        return index.get(uuid);
+    }
+
+    /**
+     * @return the player's rank starting at 1, or 0 if they aren't on the board
+     */
+    public synchronized int getRank(UUID uuid) {
+        return index.rank(uuid);
+    }
+
+    /**
+     * @return up to the best limit players, best first
+     */
+    public synchronized List<Entry> getTop(int limit) {
+        return index.top(limit);
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Take everyone off the board
+     */
+    public synchronized void clear() {
+        index.clear();
+        version++;
+    }
+
+    /**
+     * A row of a board
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+
+        private final int rank;
+
+        private final UUID uuid;
+
+        private final double score;
+
+    }
+
+}
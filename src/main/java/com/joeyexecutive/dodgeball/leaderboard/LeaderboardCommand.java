@@ -0,0 +1,50 @@
+package com.joeyexecutive.dodgeball.leaderboard;
+
+import com.joeyexecutive.dodgeball.util.ChatUtils;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * /dbtop lists the boards and your place on them, /dbtop &lt;board&gt; shows one in your sidebar and
+ * /dbtop off hides it again
+ */
+public class LeaderboardCommand implements CommandExecutor {
+
+    private final LeaderboardService leaderboards;
+
+    public LeaderboardCommand(LeaderboardService leaderboards) {
+        this.leaderboards = leaderboards;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(ChatUtils.colorCode("&cOnly players can view leaderboards"));
+            return true;
+        }
+        final Player player = (Player) sender;
+
+        if (args.length == 0) {
+            for (Leaderboard board : leaderboards.getBoards()) {
+                final int rank = board.getRank(player.getUniqueId());
+                player.sendMessage(ChatUtils.colorCode("&6" + board.getTitle() + " &7(/" + label + " " + board.getId() + ")&7: "
+                        + (rank == 0 ? "&fnot ranked" : "&f#" + rank + " of " + board.size())));
+            }
+            return true;
+        }
+
+        if (args[0].equalsIgnoreCase("off")) {
+            leaderboards.hide(player);
+            return true;
+        }
+
+        if (!leaderboards.show(player, args[0].toLowerCase())) {
+            player.sendMessage(ChatUtils.colorCode("&cThere is no leaderboard called " + args[0]));
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.joeyexecutive.dodgeball.leaderboard;
+
+import com.joeyexecutive.dodgeball.stats.PlayerStats;
+import com.joeyexecutive.dodgeball.stats.StatsService;
+import com.joeyexecutive.dodgeball.util.BukkitTasks;
+import com.joeyexecutive.dodgeball.util.scoreboard.MTSafeScoreboard;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.Closeable;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the live leaderboards up to date and shows them in players' sidebars. Ratings come from the stats
+ * service every time it flushes, kills today and win streaks straight from match results. Boards only hold
+ * players seen since the server started. Sidebars are refreshed on an async timer and only for boards that
+ * changed
+ */
+public class LeaderboardService implements Listener, Closeable {
+
+    public static final String RATING = "rating";
+
+    public static final String KILLS_TODAY = "kills";
+
+    public static final String WIN_STREAK = "streak";
+
+    private final MTSafeScoreboard scoreboard;
+
+    private final int rows;
+
+    /**
+     * Board id -> board, in the order they are listed to players
+     */
+    private final Map<String, Leaderboard> boards = new LinkedHashMap<>();
+
+    private final Map<String, LeaderboardSidebar> sidebars = new ConcurrentHashMap<>();
+
+    /**
+     * Player -> the board they have in their sidebar
+     */
+    private final Map<Player, String> viewing = new ConcurrentHashMap<>();
+
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Integer> streaks = new ConcurrentHashMap<>();
+
+    /**
+     * The day kills today are counted for
+     */
+    private volatile LocalDate today = LocalDate.now();
+
+    private final BukkitTask task;
+
+    /**
+     * @param statsService Where ratings are fed from
+     * @param scoreboard The scoreboard sidebars are shown through
+     * @param rows How many rows a sidebar shows
+     * @param refreshTicks How often sidebars are brought up to date
+     */
+    public LeaderboardService(StatsService statsService, MTSafeScoreboard scoreboard, int rows, int refreshTicks) {
+        this.scoreboard = scoreboard;
+        this.rows = rows;
+
+        addBoard(new Leaderboard(RATING, "Highest Rating"));
+        addBoard(new Leaderboard(KILLS_TODAY, "Most Kills Today"));
+        addBoard(new Leaderboard(WIN_STREAK, "Win Streaks"));
+
+        statsService.addFlushListener(this::onStatsFlushed);
+        task = BukkitTasks.asyncTimer(Math.max(1, refreshTicks), this::render);
+    }
+
+    private void addBoard(Leaderboard board) {
+        boards.put(board.getId(), board);
+        sidebars.put(board.getId(), new LeaderboardSidebar(scoreboard, board, rows));
+    }
+
+    /**
+     * @return the board with the id, or null if there is none
+     */
+    public Leaderboard getBoard(String id) {
+        return boards.get(id);
+    }
+
+    public Collection<Leaderboard> getBoards() {
+        return Collections.unmodifiableCollection(boards.values());
+    }
+
+    /**
+     * Called on the stats writer thread with every flushed batch
+     */
+    private void onStatsFlushed(Map<UUID, PlayerStats> updated) {
+        final Leaderboard rating = boards.get(RATING);
+        updated.forEach((uuid, stats) -> rating.set(uuid, stats.getElo()));
+    }
+
+    /**
+     * Count a kill towards the player's kills today
+     */
+    public void recordKill(UUID uuid) {
+        rollDay();
+        boards.get(KILLS_TODAY).increment(uuid, 1);
+    }
+
+    /**
+     * Extend the winners' streaks and end the losers'
+     */
+    public void recordMatch(Collection<UUID> winners, Collection<UUID> losers) {
+        final Leaderboard board = boards.get(WIN_STREAK);
+        for (UUID uuid : winners) {
+            board.set(uuid, streaks.merge(uuid, 1, Integer::sum));
+        }
+        for (UUID uuid : losers) {
+            streaks.remove(uuid);
+            board.set(uuid, 0);
+        }
+    }
+
+    /**
+     * Show a board in a player's sidebar, replacing the one they had
+     * @return whether the board exists
+     */
+    public boolean show(Player player, String id) {
+        final LeaderboardSidebar sidebar = sidebars.get(id);
+        if (sidebar == null) {
+            return false;
+        }
+
+        hide(player);
+        names.put(player.getUniqueId(), player.getName());
+        viewing.put(player, id);
+        sidebar.addViewer(player);
+        return true;
+    }
+
+    /**
+     * Take the board out of a player's sidebar, if they have one shown
+     */
+    public void hide(Player player) {
+        final String id = viewing.remove(player);
+        if (id != null) {
+            sidebars.get(id).removeViewer(player);
+        }
+    }
+
+    /**
+     * @return the id of the board the player has in their sidebar, or null
+     */
+    public String getViewing(Player player) {
+        return viewing.get(player);
+    }
+
+    private void rollDay() {
+        final LocalDate now = LocalDate.now();
+        if (!now.equals(today)) {
+            today = now;
+            boards.get(KILLS_TODAY).clear();
+        }
+    }
+
+    private void render() {
+        rollDay();
+        sidebars.forEach((id, sidebar) -> sidebar.render(boards.get(id), this::getName));
+    }
+
+    /**
+     * @return the last known name of a player, looked up once and cached
+     */
+    public String getName(UUID uuid) {
+        return names.computeIfAbsent(uuid, key -> {
+            final String name = Bukkit.getOfflinePlayer(key).getName();
+            return name == null ? key.toString().substring(0, 8) : name;
+        });
+    }
+
+    @EventHandler
+    public void onJoin(PlayerJoinEvent event) {
+        names.put(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        viewing.remove(event.getPlayer());
+    }
+
+    /**
+     * Stop refreshing and remove every sidebar
+     */
+    @Override
+    public void close() {
+        HandlerList.unregisterAll(this);
+        task.cancel();
+        sidebars.values().forEach(LeaderboardSidebar::close);
+        sidebars.clear();
+        viewing.clear();
+    }
+
+}
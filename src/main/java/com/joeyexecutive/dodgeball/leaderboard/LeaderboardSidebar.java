@@ -0,0 +1,108 @@
+package com.joeyexecutive.dodgeball.leaderboard;
+
+import com.joeyexecutive.dodgeball.util.scoreboard.MTSafeScoreboard;
+import com.joeyexecutive.dodgeball.util.scoreboard.MTSafeScoreboardObjective;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.DisplaySlot;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Shows the top rows of a {@link Leaderboard} in the sidebar of whoever subscribes, through one scoped
+ * objective shared by every viewer. Each row is its own score entry, so a render only sends the rows whose
+ * text changed and rows that merely kept their place cost nothing
+ */
+public class LeaderboardSidebar implements AutoCloseable {
+
+    private final MTSafeScoreboard scoreboard;
+
+    private final String objectiveId;
+
+    private final MTSafeScoreboardObjective objective;
+
+    /**
+     * What each row currently shows, index 0 is rank 1
+     */
+    private final String[] rows;
+
+    /**
+     * The {@link Leaderboard#getVersion()} last rendered
+     */
+    private long renderedVersion = -1;
+
+    /**
+     * @param scoreboard The scoreboard to register the objective with
+     * @param board The board to show
+     * @param rows How many rows to show
+     */
+    public LeaderboardSidebar(MTSafeScoreboard scoreboard, Leaderboard board, int rows) {
+        this.scoreboard = scoreboard;
+        this.objectiveId = "dblb" + board.getId();
+        this.objective = scoreboard.newScopedObjective(
+                objectiveId,
+                Component.text(board.getTitle(), NamedTextColor.GOLD),
+                DisplaySlot.SIDEBAR,
+                Collections.emptySet()
+        );
+        this.rows = new String[Math.max(1, rows)];
+    }
+
+    public void addViewer(Player player) {
+        objective.subscribe(player);
+    }
+
+    public void removeViewer(Player player) {
+        objective.unsubscribe(player);
+    }
+
+    /**
+     * Bring the rows up to date with the board, does nothing if the board hasn't changed since the last render
+     * @param board The board this sidebar shows
+     * @param names Looks up the name to show for a player
+     */
+    public synchronized void render(Leaderboard board, Function<UUID, String> names) {
+        final long version = board.getVersion();
+        if (version == renderedVersion) {
+            return;
+        }
+        renderedVersion = version;
+
+        final List<Leaderboard.Entry> top = board.getTop(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            final String text = i < top.size() ? row(top.get(i), names) : null;
+            if (text == null ? rows[i] == null : text.equals(rows[i])) {
+                continue;
+            }
+
+            if (rows[i] != null) {
+                objective.removeScore(rows[i]);
+            }
+            if (text != null) {
+                // higher scores are shown first, so the best rank gets the highest
+                objective.setScore(text, rows.length - i);
+            }
+            rows[i] = text;
+        }
+    }
+
+    private static String row(Leaderboard.Entry entry, Function<UUID, String> names) {
+        return ChatColor.YELLOW + "#" + entry.getRank() + " "
+                + ChatColor.WHITE + names.apply(entry.getUuid()) + " "
+                + ChatColor.GRAY + Math.round(entry.getScore());
+    }
+
+    /**
+     * Remove the sidebar from every viewer
+     */
+    @Override
+    public void close() {
+        scoreboard.removeScopedObjective(objectiveId);
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.joeyexecutive.dodgeball.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Indexable skip list of players ordered by score, highest first with ties broken by uuid. Every link also
+ * stores how many players it skips over, so updates and rank lookups are O(log n) and reading the top k is
+ * O(k), no matter how many players are indexed. Not thread safe, {@link Leaderboard} guards it
+ */
+final class RankedIndex {
+
+    private static final int MAX_LEVEL = 32;
+
+    /**
+     * Chance of a node reaching each level above the first
+     */
+    private static final double LEVEL_CHANCE = 0.25D;
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+
+    private final Map<UUID, Node> nodes = new HashMap<>();
+
+    private int level = 1;
+
+    /**
+     * Set a player's score, inserting them if they aren't indexed yet
+     * @return whether anything changed
+     */
+    boolean put(UUID uuid, double score) {
+        final Node existing = nodes.get(uuid);
+        if (existing != null) {
+            if (existing.score == score) {
+                return false;
+            }
+            nodes.remove(uuid);
+            unlink(existing);
+        }
+
+        nodes.put(uuid, insert(uuid, score));
+        return true;
+    }
+
+    /**
+     * @return the player's score, or 0 if they aren't indexed
+     */
+    double get(UUID uuid) {
+        final Node node = nodes.get(uuid);
+        return node == null ? 0 : node.score;
+    }
+
+    boolean remove(UUID uuid) {
+        final Node node = nodes.remove(uuid);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * @return the player's rank starting at 1, or 0 if they aren't indexed
+     */
+    int rank(UUID uuid) {
+        final Node node = nodes.get(uuid);
+        if (node == null) {
+            return 0;
+        }
+
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (x.next[i] == node || precedes(x.next[i], node.score, node.uuid))) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x == node) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return up to the first limit players, best first
+     */
+    List<Leaderboard.Entry> top(int limit) {
+        final List<Leaderboard.Entry> top = new ArrayList<>(Math.min(limit, nodes.size()));
+        for (Node x = head.next[0]; x != null && top.size() < limit; x = x.next[0]) {
+            top.add(new Leaderboard.Entry(top.size() + 1, x.uuid, x.score));
+        }
+        return top;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    void clear() {
+        nodes.clear();
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+    }
+
+    private Node insert(UUID uuid, double score) {
+        final Node[] update = new Node[MAX_LEVEL];
+        final int[] rank = new int[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && precedes(x.next[i], score, uuid)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        final int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                // every linked node, the new one is added to it below
+                head.span[i] = nodes.size();
+            }
+            level = nodeLevel;
+        }
+
+        final Node node = new Node(uuid, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        return node;
+    }
+
+    private void unlink(Node node) {
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i] != node && precedes(x.next[i], node.score, node.uuid)) {
+                x = x.next[i];
+            }
+            if (x.next[i] == node) {
+                x.span[i] += node.span[i] - 1;
+                x.next[i] = node.next[i];
+            } else {
+                x.span[i]--;
+            }
+        }
+
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+    }
+
+    /**
+     * @return whether the node comes before a player with the score
+     */
+    private static boolean precedes(Node node, double score, UUID uuid) {
+        return node.score > score || (node.score == score && node.uuid.compareTo(uuid) < 0);
+    }
+
+    private static int randomLevel() {
+        int level = 1;
+        while (level < MAX_LEVEL && ThreadLocalRandom.current().nextDouble() < LEVEL_CHANCE) {
+            level++;
+        }
+        return level;
+    }
+
+    private static final class Node {
+
+        private final UUID uuid;
+
+        private final double score;
+
+        private final Node[] next;
+
+        /**
+         * How many nodes each link skips over, counting the one it lands on
+         */
+        private final int[] span;
+
+        private Node(UUID uuid, double score, int level) {
+            this.uuid = uuid;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+
+    }
+
+}
@@ -0,0 +1,386 @@
+package com.joeyexecutive.dodgeball.loadtest;
+
+import com.joeyexecutive.dodgeball.DodgeballPlugin;
+import com.joeyexecutive.dodgeball.config.DodgeballConfig;
+import com.joeyexecutive.dodgeball.config.MapConfig;
+import com.joeyexecutive.dodgeball.game.ArenaTracker;
+import com.joeyexecutive.dodgeball.game.DodgeballGame;
+import com.joeyexecutive.dodgeball.game.GameTeam;
+import com.joeyexecutive.dodgeball.profiling.Subsystem;
+import com.joeyexecutive.dodgeball.profiling.TickProfiler;
+import com.joeyexecutive.dodgeball.replay.ReplayRecorder;
+import com.joeyexecutive.dodgeball.util.BukkitTasks;
+import com.joeyexecutive.dodgeball.util.MainThreadExecutor;
+import com.joeyexecutive.dodgeball.util.Packets;
+import com.joeyexecutive.dodgeball.util.VirtualEntities;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+/**
+ * Runs many real {@link DodgeballGame}s at once on this server, each filled with {@link SyntheticPlayer}s that
+ * join, move, throw, hit and quit at the rates in the config. Games come from the pool and are started and
+ * ended like any other, so maps are really loaded and torn down. The synthetic players are added to the game
+ * and their throws and hits recorded through it like a real match, so the scoreboards, tablist, name tags,
+ * spectators, hologram and replay all do their usual work and the report shows how many concurrent matches
+ * this box can carry. Meant for a staging server, not one with real players on it.
+ * <p>
+ * Everything here runs on the main thread
+ */
+public class LoadTest {
+
+    /**
+     * How far a synthetic player may wander from the lobby spawn, in blocks
+     */
+    private static final double WANDER_RADIUS = 16.0D;
+
+    /**
+     * Ticks to wait before retrying a game whose map failed to load
+     */
+    private static final long RETRY_TICKS = 100L;
+
+    private final DodgeballPlugin plugin;
+
+    private final DodgeballConfig config;
+
+    private final int games;
+
+    private final int playersPerGame;
+
+    private final int durationSeconds;
+
+    private final Consumer<List<String>> onFinish;
+
+    private final List<Slot> slots = new ArrayList<>();
+
+    private BukkitTask task;
+
+    private boolean running;
+
+    private int nextPlayer = 0;
+
+    private long startNanos;
+
+    private long startPackets;
+
+    private long startSyntheticPackets;
+
+    private long startHeap;
+
+    private long peakHeap;
+
+    private int matchesCompleted;
+
+    private int loadsSucceeded;
+
+    private int loadFailures;
+
+    private long loadNanosTotal;
+
+    private long loadNanosMax;
+
+    private long moves;
+
+    private long throwsMade;
+
+    private long hits;
+
+    private long joins;
+
+    private long quits;
+
+    /**
+     * @param plugin The plugin
+     * @param games How many games to keep running at the same time
+     * @param playersPerGame How many synthetic players are in each game
+     * @param durationSeconds How long to run for
+     * @param onFinish Given the report once the test has finished or was stopped
+     */
+    public LoadTest(DodgeballPlugin plugin, int games, int playersPerGame, int durationSeconds, Consumer<List<String>> onFinish) {
+        this.plugin = plugin;
+        this.config = plugin.getDodgeballConfig();
+        this.games = Math.max(1, games);
+        this.playersPerGame = Math.max(2, playersPerGame);
+        this.durationSeconds = Math.max(1, durationSeconds);
+        this.onFinish = onFinish;
+    }
+
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+
+        plugin.getTickProfiler().reset();
+        startNanos = System.nanoTime();
+        startPackets = Packets.getSentCount();
+        startSyntheticPackets = Packets.getUnconnectedCount();
+        startHeap = ArenaTracker.getHeapUsedBytes();
+        peakHeap = startHeap;
+
+        for (int i = 0; i < games; i++) {
+            final Slot slot = new Slot();
+            slots.add(slot);
+            startGame(slot);
+        }
+
+        final int endTick = Bukkit.getCurrentTick() + durationSeconds * 20;
+        task = BukkitTasks.syncTimer(Subsystem.LOAD_TEST, 1L, () -> {
+            if (Bukkit.getCurrentTick() >= endTick) {
+                stop();
+                return;
+            }
+            tick();
+        });
+    }
+
+    /**
+     * End every running game and hand the report over. Games that are still starting are abandoned once they have
+     */
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        task.cancel();
+
+        for (Slot slot : slots) {
+            if (slot.game != null) {
+                endGame(slot);
+            }
+        }
+
+        onFinish.accept(report());
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void startGame(Slot slot) {
+        final List<MapConfig> maps = config.getMapConfigs();
+        final DodgeballGame game = plugin.getGamePool().acquire(maps.get(ThreadLocalRandom.current().nextInt(maps.size())));
+        final long start = System.nanoTime();
+
+        game.setRecordingStats(config.isLoadTestRecordStats());
+        // added before the start so the game moves them in like real players
+        slot.players.clear();
+        for (int i = 0; i < playersPerGame; i++) {
+            join(slot, game, i % 2 == 0 ? GameTeam.TEAM_1 : GameTeam.TEAM_2);
+        }
+
+        game.start()
+                .whenCompleteAsync((ignored, throwable) -> {
+                    if (throwable != null) {
+                        loadFailures++;
+                        plugin.getLogger().log(Level.WARNING, "Load test game " + game.getGameId() + " failed to start", throwable);
+                        game.abandon();
+                        if (running) {
+                            BukkitTasks.syncLater(Subsystem.LOAD_TEST, RETRY_TICKS, () -> {
+                                if (running) {
+                                    startGame(slot);
+                                }
+                            });
+                        }
+                        return;
+                    }
+
+                    final long took = System.nanoTime() - start;
+                    loadsSucceeded++;
+                    loadNanosTotal += took;
+                    loadNanosMax = Math.max(loadNanosMax, took);
+
+                    if (!running) {
+                        game.abandon();
+                        return;
+                    }
+                    slot.game = game;
+                    slot.endTick = Bukkit.getCurrentTick() + Math.max(1, config.getLoadTestMatchSeconds()) * 20;
+                }, MainThreadExecutor.of(Subsystem.LOAD_TEST));
+    }
+
+    private void endGame(Slot slot) {
+        final DodgeballGame game = slot.game;
+        slot.game = null;
+
+        // the game records the result itself, if the config lets load tests touch stats
+        final GameTeam winner = game.getScore(GameTeam.TEAM_1) >= game.getScore(GameTeam.TEAM_2) ? GameTeam.TEAM_1 : GameTeam.TEAM_2;
+        slot.players.clear();
+
+        game.end(winner).whenCompleteAsync((ignored, throwable) -> {
+            matchesCompleted++;
+            if (running) {
+                startGame(slot);
+            }
+        }, MainThreadExecutor.of(Subsystem.LOAD_TEST));
+    }
+
+    private void tick() {
+        if (Bukkit.getCurrentTick() % 20 == 0) {
+            peakHeap = Math.max(peakHeap, ArenaTracker.getHeapUsedBytes());
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final double moveChance = config.getLoadTestMovesPerSecond() / 20.0D;
+        final double throwChance = config.getLoadTestThrowsPerSecond() / 20.0D;
+        final double quitChance = config.getLoadTestQuitsPerMinute() / 1200.0D;
+
+        for (Slot slot : slots) {
+            if (slot.game == null) {
+                continue;
+            }
+            if (Bukkit.getCurrentTick() >= slot.endTick) {
+                endGame(slot);
+                continue;
+            }
+
+            for (SyntheticPlayer player : List.copyOf(slot.players)) {
+                if (random.nextDouble() < moveChance) {
+                    move(player, random);
+                }
+                if (random.nextDouble() < throwChance) {
+                    throwBall(slot, player, random);
+                }
+                if (random.nextDouble() < quitChance) {
+                    slot.game.removePlayer(player.asPlayer());
+                    slot.players.remove(player);
+                    quits++;
+                    join(slot, slot.game, player.getTeam());
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a new synthetic player to a game. Before the match starts the game moves them in itself, once it is
+     * running they appear at the lobby spawn
+     */
+    private void join(Slot slot, DodgeballGame game, GameTeam team) {
+        final int number = nextPlayer++;
+        final SyntheticPlayer player = new SyntheticPlayer(
+                UUID.randomUUID(),
+                VirtualEntities.nextEntityId(),
+                "LoadTest" + number,
+                team
+        );
+        final Location lobby = game.getLobbySpawn();
+        if (lobby != null) {
+            player.teleport(lobby);
+        }
+
+        game.addPlayer(player.asPlayer(), team);
+        slot.players.add(player);
+        joins++;
+
+        // players in the game when recording starts are recorded by the game itself
+        final ReplayRecorder recorder = game.getReplayRecorder();
+        if (recorder != null) {
+            recorder.recordPlayer(player.getEntityId(), player.getUuid(), player.getName());
+        }
+    }
+
+    /**
+     * Nudge a player around where they arrived, the game samples their position into the replay
+     */
+    private void move(SyntheticPlayer player, ThreadLocalRandom random) {
+        final Location location = player.getLocation();
+        if (location == null) {
+            return;
+        }
+
+        final Location anchor = player.getAnchor();
+        location.setX(clamp(location.getX() + random.nextDouble(-0.5D, 0.5D), anchor.getX()));
+        location.setZ(clamp(location.getZ() + random.nextDouble(-0.5D, 0.5D), anchor.getZ()));
+        location.setYaw(random.nextFloat() * 360.0F - 180.0F);
+        moves++;
+    }
+
+    private void throwBall(Slot slot, SyntheticPlayer thrower, ThreadLocalRandom random) {
+        throwsMade++;
+        slot.game.recordThrow(thrower.asPlayer());
+
+        if (random.nextDouble() >= config.getLoadTestHitChance()) {
+            return;
+        }
+
+        final List<Player> targets = slot.players.stream()
+                .filter(player -> player.getTeam() != thrower.getTeam())
+                .map(SyntheticPlayer::asPlayer)
+                .collect(Collectors.toList());
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        hits++;
+        slot.game.recordHit(thrower.asPlayer(), targets.get(random.nextInt(targets.size())));
+    }
+
+    private static double clamp(double value, double center) {
+        return Math.max(center - WANDER_RADIUS, Math.min(center + WANDER_RADIUS, value));
+    }
+
+    /**
+     * @return the report so far, one line per message
+     */
+    public List<String> report() {
+        final double seconds = Math.max(1, System.nanoTime() - startNanos) / 1_000_000_000.0D;
+        final long heap = ArenaTracker.getHeapUsedBytes();
+        final int synthetic = games * playersPerGame;
+        final int online = Bukkit.getOnlinePlayers().size();
+        final long packets = Packets.getSentCount() - startPackets;
+        final long syntheticPackets = Packets.getUnconnectedCount() - startSyntheticPackets;
+
+        final TickProfiler profiler = plugin.getTickProfiler();
+        final TickProfiler.Percentiles pluginTick = profiler.getTotalPercentiles();
+        final TickProfiler.Percentiles serverTick = profiler.getTickPercentiles();
+
+        final List<String> lines = new ArrayList<>();
+        lines.add(String.format("Load test: %d games x %d players, %.0fs of %ds", games, playersPerGame, seconds, durationSeconds));
+        lines.add(String.format("Matches: %d completed (%.1f/min), %d failed to start, load to countdown avg %.0fms max %.0fms",
+                matchesCompleted, matchesCompleted / seconds * 60.0D, loadFailures,
+                loadNanosTotal / (double) Math.max(1, loadsSucceeded) / 1_000_000.0D, loadNanosMax / 1_000_000.0D));
+        lines.add(String.format("Actions/s: %.0f moves, %.1f throws, %.1f hits, %.2f joins, %.2f quits",
+                moves / seconds, throwsMade / seconds, hits / seconds, joins / seconds, quits / seconds));
+        lines.add(String.format("Plugin per tick p50/p95/p99/max: %s, server tick: %s", millis(pluginTick), millis(serverTick)));
+        // packets to synthetic players are counted but never written
+        lines.add(String.format("Packets: %.1f per synthetic player per second (%d synthetic), %d written to %d real players online",
+                syntheticPackets / (double) synthetic / seconds, synthetic, packets, online));
+        lines.add(String.format("Heap: %dMB at start, %dMB now (%+dMB), %dMB peak",
+                startHeap >> 20, heap >> 20, (heap - startHeap) >> 20, peakHeap >> 20));
+        return lines;
+    }
+
+    private static String millis(TickProfiler.Percentiles percentiles) {
+        return String.format("%.1f/%.1f/%.1f/%.1fms",
+                percentiles.getP50() / 1_000_000.0D,
+                percentiles.getP95() / 1_000_000.0D,
+                percentiles.getP99() / 1_000_000.0D,
+                percentiles.getMax() / 1_000_000.0D);
+    }
+
+    /**
+     * One of the games kept running by the test, reused for every match played in it
+     */
+    private static class Slot {
+
+        private final List<SyntheticPlayer> players = new ArrayList<>();
+
+        /**
+         * The game while its match is playing, null while it is starting or ending
+         */
+        private DodgeballGame game;
+
+        private int endTick;
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.joeyexecutive.dodgeball.loadtest;
+
+import com.joeyexecutive.dodgeball.DodgeballPlugin;
+import com.joeyexecutive.dodgeball.util.ChatUtils;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * /dbloadtest start &lt;games&gt; &lt;playersPerGame&gt; &lt;seconds&gt;, /dbloadtest status and /dbloadtest stop
+ */
+public class LoadTestCommand implements CommandExecutor {
+
+    private final DodgeballPlugin plugin;
+
+    /**
+     * The running or last finished test
+     */
+    private LoadTest loadTest;
+
+    public LoadTestCommand(DodgeballPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length == 0) {
+            return false;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "start":
+                return start(sender, args);
+            case "status":
+                if (loadTest == null) {
+                    sender.sendMessage(ChatUtils.colorCode("&cNo load test has been run"));
+                } else {
+                    send(sender, loadTest.report());
+                }
+                return true;
+            case "stop":
+                if (loadTest == null || !loadTest.isRunning()) {
+                    sender.sendMessage(ChatUtils.colorCode("&cNo load test is running"));
+                } else {
+                    loadTest.stop();
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean start(CommandSender sender, String[] args) {
+        if (loadTest != null && loadTest.isRunning()) {
+            sender.sendMessage(ChatUtils.colorCode("&cA load test is already running, /dbloadtest stop it first"));
+            return true;
+        }
+        if (args.length < 4) {
+            return false;
+        }
+
+        final int games;
+        final int players;
+        final int seconds;
+        try {
+            games = Integer.parseInt(args[1]);
+            players = Integer.parseInt(args[2]);
+            seconds = Integer.parseInt(args[3]);
+        } catch (NumberFormatException e) {
+            sender.sendMessage(ChatUtils.colorCode("&cGames, players and seconds must be whole numbers"));
+            return true;
+        }
+
+        loadTest = new LoadTest(plugin, games, players, seconds, report -> {
+            report.forEach(plugin.getLogger()::info);
+            send(sender, report);
+        });
+        loadTest.start();
+        sender.sendMessage(ChatUtils.colorCode("&aStarted a load test of &e" + games + " &agames with &e"
+                + players + " &aplayers each for &e" + seconds + "&as"));
+        return true;
+    }
+
+    private static void send(CommandSender sender, List<String> report) {
+        for (String line : report) {
+            sender.sendMessage(ChatUtils.colorCode("&7" + line));
+        }
+    }
+
+}
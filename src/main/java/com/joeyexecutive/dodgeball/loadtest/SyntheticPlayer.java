@@ -0,0 +1,149 @@
+package com.joeyexecutive.dodgeball.loadtest;
+
+import com.joeyexecutive.dodgeball.game.GameTeam;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A load test player without a client. It is handed to the game as a {@link Player} so it goes through the
+ * same paths as a real one, the scoreboards, tablist, name tags and replay sampling included. The proxy only
+ * answers what the game asks of its players, everything else returns null, false or 0. It has no connection,
+ * {@link com.joeyexecutive.dodgeball.util.Packets} only counts the packets addressed to it
+ */
+final class SyntheticPlayer {
+
+    private final UUID uuid;
+
+    private final int entityId;
+
+    private final String name;
+
+    private final GameTeam team;
+
+    private final Player player;
+
+    /**
+     * Where the player is, null until the game teleports them in
+     */
+    private Location location;
+
+    /**
+     * Where the player was last teleported to, they wander around it
+     */
+    private Location anchor;
+
+    SyntheticPlayer(UUID uuid, int entityId, String name, GameTeam team) {
+        this.uuid = uuid;
+        this.entityId = entityId;
+        this.name = name;
+        this.team = team;
+        this.player = (Player) Proxy.newProxyInstance(
+                Player.class.getClassLoader(),
+                new Class<?>[]{Player.class},
+                (proxy, method, args) -> answer(proxy, method, args)
+        );
+    }
+
+    UUID getUuid() {
+        return uuid;
+    }
+
+    int getEntityId() {
+        return entityId;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    GameTeam getTeam() {
+        return team;
+    }
+
+    /**
+     * @return the player handed to the game
+     */
+    Player asPlayer() {
+        return player;
+    }
+
+    /**
+     * @return where the player is, modified in place by the load test, null until they are teleported in
+     */
+    Location getLocation() {
+        return location;
+    }
+
+    Location getAnchor() {
+        return anchor;
+    }
+
+    void teleport(Location destination) {
+        this.location = destination.clone();
+        this.anchor = destination.clone();
+    }
+
+    private Object answer(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "SyntheticPlayer{" + name + "}";
+            case "getUniqueId":
+                return uuid;
+            case "getName":
+            case "getPlayerListName":
+                return name;
+            case "name":
+            case "displayName":
+                return Component.text(name);
+            case "getEntityId":
+                return entityId;
+            case "locale":
+                return Locale.US;
+            case "isOnline":
+            case "isValid":
+                return true;
+            case "getWorld":
+                return location == null ? null : location.getWorld();
+            case "getLocation":
+                if (method.getParameterCount() == 0) {
+                    return location == null ? null : location.clone();
+                }
+                break;
+            case "teleport":
+                if (args != null && args[0] instanceof Location) {
+                    teleport((Location) args[0]);
+                    return true;
+                }
+                return false;
+            case "teleportAsync":
+                if (args != null && args[0] instanceof Location) {
+                    teleport((Location) args[0]);
+                    return CompletableFuture.completedFuture(true);
+                }
+                return CompletableFuture.completedFuture(false);
+            default:
+                break;
+        }
+        return defaultValue(method.getReturnType());
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        return Array.get(Array.newInstance(type, 1), 0);
+    }
+
+}
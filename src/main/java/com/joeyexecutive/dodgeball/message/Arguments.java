@@ -0,0 +1,42 @@
+package com.joeyexecutive.dodgeball.message;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The values to fill a message's placeholders with. Each value is formatted once when it is added, however
+ * many locales the message ends up rendered in
+ */
+public final class Arguments {
+
+    /**
+     * Arguments for a message without placeholders
+     */
+    public static final Arguments NONE = new Arguments();
+
+    private final Map<String, Component> values = new HashMap<>(4);
+
+    private Arguments() {}
+
+    public static <T> Arguments of(Placeholder<T> placeholder, T value) {
+        return new Arguments().and(placeholder, value);
+    }
+
+    public <T> Arguments and(Placeholder<T> placeholder, T value) {
+        if (this == NONE) {
+            return of(placeholder, value);
+        }
+        values.put(placeholder.getName(), placeholder.format(value));
+        return this;
+    }
+
+    /**
+     * @return the formatted value of a placeholder, or null if it was not given
+     */
+    Component get(String name) {
+        return values.get(name);
+    }
+
+}
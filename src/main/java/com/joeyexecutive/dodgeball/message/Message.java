@@ -0,0 +1,49 @@
+package com.joeyexecutive.dodgeball.message;
+
+/**
+ * Every message sent to whole games, with the text used when the config doesn't override it. The text uses
+ * &amp; color codes and {name} placeholders
+ */
+public enum Message {
+
+    /**
+     * Every second of the countdown, fills {@link Placeholder#SECONDS}
+     */
+    COUNTDOWN("countdown", "&eThe game starts in &6{seconds}&e..."),
+
+    /**
+     * When the countdown reaches zero
+     */
+    COUNTDOWN_GO("countdown_go", "&aGo!"),
+
+    /**
+     * The kill feed, fills {@link Placeholder#THROWER} and {@link Placeholder#VICTIM}
+     */
+    HIT("hit", "&e{thrower} hit {victim}"),
+
+    /**
+     * When the game ends, fills {@link Placeholder#TEAM}
+     */
+    GAME_WON("game_won", "&6{team} won the game!");
+
+    private final String key;
+
+    private final String defaultText;
+
+    Message(String key, String defaultText) {
+        this.key = key;
+        this.defaultText = defaultText;
+    }
+
+    /**
+     * @return the key the message is overridden by in the config
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getDefaultText() {
+        return defaultText;
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.joeyexecutive.dodgeball.message;
+
+import com.joeyexecutive.dodgeball.config.DodgeballConfig;
+import org.bukkit.entity.Player;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Hands out the compiled {@link MessageTemplate}s for each locale. Templates are compiled the first time a
+ * locale needs them and kept until the config is reloaded. Players are matched to the most specific locale
+ * the config has messages for, so every locale without its own messages shares the default templates
+ */
+public class MessageService {
+
+    /**
+     * The locale key of the messages used when a player's locale has none of its own
+     */
+    static final String DEFAULT_LOCALE = "";
+
+    private final Supplier<DodgeballConfig> config;
+
+    private volatile Compiled compiled;
+
+    /**
+     * @param config Supplies the current config, templates are recompiled whenever it returns a new one
+     */
+    public MessageService(Supplier<DodgeballConfig> config) {
+        this.config = config;
+    }
+
+    /**
+     * Start rendering a message, nothing is rendered until a packet is asked for
+     * @param message The message
+     * @param arguments The values of its placeholders
+     * @param actionBar Whether to show it above the hotbar instead of in chat
+     */
+    public RenderedMessage render(Message message, Arguments arguments, boolean actionBar) {
+        return new RenderedMessage(current(), message, arguments, actionBar);
+    }
+
+    private Compiled current() {
+        final DodgeballConfig config = this.config.get();
+        Compiled compiled = this.compiled;
+        if (compiled == null || compiled.config != config) {
+            compiled = new Compiled(config);
+            this.compiled = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * The templates compiled from one config snapshot
+     */
+    static final class Compiled {
+
+        private final DodgeballConfig config;
+
+        /**
+         * Locale key -> template of every message
+         */
+        private final Map<String, Map<Message, MessageTemplate>> templates = new ConcurrentHashMap<>();
+
+        /**
+         * Client locale -> the locale key its messages are found under
+         */
+        private final Map<Locale, String> localeKeys = new ConcurrentHashMap<>();
+
+        private Compiled(DodgeballConfig config) {
+            this.config = config;
+        }
+
+        /**
+         * @return the locale key of the messages a player sees
+         */
+        String localeKey(Player player) {
+            return localeKeys.computeIfAbsent(player.locale(), locale -> {
+                final Map<String, Map<String, String>> localized = config.getLocalizedMessages();
+                final String full = locale.toString().toLowerCase(Locale.ROOT);
+                if (localized.containsKey(full)) {
+                    return full;
+                }
+                final String language = locale.getLanguage().toLowerCase(Locale.ROOT);
+                return localized.containsKey(language) ? language : DEFAULT_LOCALE;
+            });
+        }
+
+        MessageTemplate template(String localeKey, Message message) {
+            return templates.computeIfAbsent(localeKey, this::compile).get(message);
+        }
+
+        private Map<Message, MessageTemplate> compile(String localeKey) {
+            final Map<String, String> localized = config.getLocalizedMessages().getOrDefault(localeKey, Map.of());
+            final Map<Message, MessageTemplate> compiled = new EnumMap<>(Message.class);
+            for (Message message : Message.values()) {
+                String text = localized.get(message.getKey());
+                if (text == null) {
+                    text = config.getMessages().getOrDefault(message.getKey(), message.getDefaultText());
+                }
+                compiled.put(message, MessageTemplate.compile(text));
+            }
+            return compiled;
+        }
+
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.joeyexecutive.dodgeball.message;
+
+import com.joeyexecutive.dodgeball.util.ChatUtils;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A configured message parsed once into its static text and placeholder slots. The static text is serialized
+ * to chat json when the template is compiled, so rendering only serializes the placeholder values and joins
+ * the pieces together. Messages without placeholders are serialized entirely up front
+ */
+public final class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([a-z_]+)}");
+
+    private static final String PREFIX = "{\"text\":\"\",\"extra\":[";
+
+    private static final String SUFFIX = "]}";
+
+    private static final String EMPTY = "{\"text\":\"\"}";
+
+    /**
+     * Runs of pre-serialized static text as strings, and {@link Slot}s in between
+     */
+    private final List<Object> parts;
+
+    /**
+     * The whole message, only set when there are no placeholders
+     */
+    private final String json;
+
+    private MessageTemplate(List<Object> parts) {
+        this.parts = parts;
+        if (parts.isEmpty()) {
+            this.json = EMPTY;
+        } else if (parts.size() == 1 && parts.get(0) instanceof String) {
+            this.json = PREFIX + parts.get(0) + SUFFIX;
+        } else {
+            this.json = null;
+        }
+    }
+
+    /**
+     * Parse a message written with &amp; color codes and {name} placeholders
+     */
+    public static MessageTemplate compile(String text) {
+        final Component parsed = LegacyComponentSerializer.legacySection().deserialize(ChatUtils.colorCode(text));
+        final List<Object> parts = new ArrayList<>();
+        final StringBuilder run = new StringBuilder();
+        flatten(parsed, Style.empty(), parts, run);
+        closeRun(parts, run);
+        return new MessageTemplate(parts);
+    }
+
+    /**
+     * Walk the parsed tree, splitting each piece of text on its placeholders. Static text is appended to the
+     * current run, which is closed off whenever a slot comes up
+     */
+    private static void flatten(Component component, Style parentStyle, List<Object> parts, StringBuilder run) {
+        final Style style = parentStyle.merge(component.style());
+
+        if (component instanceof TextComponent) {
+            final String content = ((TextComponent) component).content();
+            final Matcher matcher = PLACEHOLDER.matcher(content);
+            int start = 0;
+            while (matcher.find()) {
+                appendStatic(content.substring(start, matcher.start()), style, run);
+                closeRun(parts, run);
+                parts.add(new Slot(matcher.group(1), style));
+                start = matcher.end();
+            }
+            appendStatic(content.substring(start), style, run);
+        }
+
+        for (Component child : component.children()) {
+            flatten(child, style, parts, run);
+        }
+    }
+
+    private static void appendStatic(String text, Style style, StringBuilder run) {
+        if (text.isEmpty()) {
+            return;
+        }
+        if (run.length() > 0) {
+            run.append(',');
+        }
+        run.append(GsonComponentSerializer.gson().serialize(Component.text(text, style)));
+    }
+
+    private static void closeRun(List<Object> parts, StringBuilder run) {
+        if (run.length() > 0) {
+            parts.add(run.toString());
+            run.setLength(0);
+        }
+    }
+
+    /**
+     * @return the message as chat json with its placeholders filled in, placeholders without a value are
+     * left as {name}
+     */
+    public String render(Arguments arguments) {
+        if (json != null) {
+            return json;
+        }
+
+        final StringBuilder builder = new StringBuilder(PREFIX.length() + 128).append(PREFIX);
+        for (int i = 0; i < parts.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            final Object part = parts.get(i);
+            if (part instanceof String) {
+                builder.append((String) part);
+            } else {
+                builder.append(((Slot) part).render(arguments));
+            }
+        }
+        return builder.append(SUFFIX).toString();
+    }
+
+    private static final class Slot {
+
+        private final String name;
+
+        /**
+         * The style of the text around the slot
+         */
+        private final Style style;
+
+        private Slot(String name, Style style) {
+            this.name = name;
+            this.style = style;
+        }
+
+        private String render(Arguments arguments) {
+            final Component value = arguments.get(name);
+            final Component styled = value == null
+                    ? Component.text("{" + name + "}", style)
+                    : value.applyFallbackStyle(style);
+            return GsonComponentSerializer.gson().serialize(styled);
+        }
+
+    }
+
+}
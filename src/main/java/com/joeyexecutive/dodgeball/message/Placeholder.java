@@ -0,0 +1,56 @@
+package com.joeyexecutive.dodgeball.message;
+
+import com.joeyexecutive.dodgeball.game.GameTeam;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+import java.util.function.Function;
+
+/**
+ * A named slot in a {@link MessageTemplate}, written as {name} in the configured text, along with how a value
+ * of its type is turned into a component. The component takes on the color of the text around the slot
+ * unless it has its own
+ * @param <T> What the slot is filled with
+ */
+public final class Placeholder<T> {
+
+    public static final Placeholder<Integer> SECONDS = number("seconds");
+
+    public static final Placeholder<Player> THROWER = player("thrower");
+
+    public static final Placeholder<Player> VICTIM = player("victim");
+
+    public static final Placeholder<GameTeam> TEAM = new Placeholder<>("team", team -> Component.text(team.toString()));
+
+    private final String name;
+
+    private final Function<T, Component> formatter;
+
+    private Placeholder(String name, Function<T, Component> formatter) {
+        this.name = name;
+        this.formatter = formatter;
+    }
+
+    /**
+     * A slot filled with a number
+     */
+    public static Placeholder<Integer> number(String name) {
+        return new Placeholder<>(name, Component::text);
+    }
+
+    /**
+     * A slot filled with a player's name
+     */
+    public static Placeholder<Player> player(String name) {
+        return new Placeholder<>(name, player -> Component.text(player.getName()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Component format(T value) {
+        return formatter.apply(value);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.joeyexecutive.dodgeball.message;
+
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.joeyexecutive.dodgeball.util.Packets;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message with its arguments, rendered into one chat packet per locale the first time a player with that
+ * locale needs it. Every player sharing a locale gets the same packet. Not thread safe, build one per send
+ */
+public final class RenderedMessage {
+
+    private final MessageService.Compiled compiled;
+
+    private final Message message;
+
+    private final Arguments arguments;
+
+    private final boolean actionBar;
+
+    /**
+     * Locale key -> the packet rendered for it
+     */
+    private final Map<String, PacketContainer> packets = new HashMap<>(4);
+
+    RenderedMessage(MessageService.Compiled compiled, Message message, Arguments arguments, boolean actionBar) {
+        this.compiled = compiled;
+        this.message = message;
+        this.arguments = arguments;
+        this.actionBar = actionBar;
+    }
+
+    /**
+     * @return the packet for a player's locale, shared so it must not be modified
+     */
+    public PacketContainer packet(Player player) {
+        return forLocale(compiled.localeKey(player));
+    }
+
+    private PacketContainer forLocale(String localeKey) {
+        return packets.computeIfAbsent(localeKey, key -> Packets.chat(
+                WrappedChatComponent.fromJson(compiled.template(key, message).render(arguments)),
+                actionBar
+        ));
+    }
+
+    /**
+     * Send the message to every player, one send per locale
+     */
+    public void send(Collection<? extends Player> players) {
+        if (players.isEmpty()) {
+            return;
+        }
+
+        final Map<String, List<Player>> byLocale = new HashMap<>(4);
+        for (Player player : players) {
+            byLocale.computeIfAbsent(compiled.localeKey(player), key -> new ArrayList<>(players.size())).add(player);
+        }
+        byLocale.forEach((localeKey, recipients) -> Packets.send(forLocale(localeKey), recipients));
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.joeyexecutive.dodgeball.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for a task handed to the main thread from another thread, lasting until the task finished
+ */
+@Name("dodgeball.MainThreadWait")
+@Label("Main Thread Wait")
+@Category({"Dodgeball", "Scheduler"})
+@Description("A task submitted to the main thread, from submission until it finished")
+public final class MainThreadWaitEvent extends jdk.jfr.Event {
+
+    @Label("Tick Delay")
+    public int tickDelay;
+
+    @Label("Queue Wait")
+    @Description("How long the task waited before the main thread started it")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+
+}
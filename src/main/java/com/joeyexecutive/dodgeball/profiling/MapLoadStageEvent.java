@@ -0,0 +1,35 @@
+package com.joeyexecutive.dodgeball.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for a finished stage of a map load, committed when the stage is recorded in
+ * {@link com.joeyexecutive.dodgeball.game.MapLoadTimings}
+ */
+@Name("dodgeball.MapLoadStage")
+@Label("Map Load Stage")
+@Category({"Dodgeball", "Game"})
+@Description("A stage of loading a game's map")
+public final class MapLoadStageEvent extends jdk.jfr.Event {
+
+    @Label("Game Id")
+    public String gameId;
+
+    @Label("Map")
+    public String map;
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Main Thread")
+    public boolean mainThread;
+
+    @Label("Stage Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long stageDuration;
+
+}
@@ -0,0 +1,23 @@
+package com.joeyexecutive.dodgeball.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for handing one packet to a group of players' connections
+ */
+@Name("dodgeball.PacketSend")
+@Label("Packet Send")
+@Category({"Dodgeball", "Network"})
+@Description("A packet handed to the connections of its recipients")
+public final class PacketSendEvent extends jdk.jfr.Event {
+
+    @Label("Packet Type")
+    public String packetType;
+
+    @Label("Recipients")
+    public int recipients;
+
+}
@@ -0,0 +1,34 @@
+package com.joeyexecutive.dodgeball.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for building and sending a scoreboard team or score packet to its viewers
+ */
+@Name("dodgeball.ScoreboardBroadcast")
+@Label("Scoreboard Broadcast")
+@Category({"Dodgeball", "Scoreboard"})
+@Description("A scoreboard team or score packet built and sent to its viewers")
+public final class ScoreboardBroadcastEvent extends jdk.jfr.Event {
+
+    @Label("Kind")
+    @Description("team or score")
+    public String kind;
+
+    @Label("Id")
+    @Description("The team or objective id")
+    public String id;
+
+    @Label("Mode")
+    public int mode;
+
+    @Label("Entries")
+    public int entries;
+
+    @Label("Viewers")
+    public int viewers;
+
+}
@@ -0,0 +1,63 @@
+package com.joeyexecutive.dodgeball.profiling;
+
+/**
+ * The parts of the plugin the {@link TickProfiler} attributes main thread time to
+ */
+public enum Subsystem {
+
+    /**
+     * Timers that drive a running game, such as replay sampling
+     */
+    GAME_LOOP("Game loop"),
+
+    /**
+     * Bukkit event listeners
+     */
+    LISTENERS("Listeners"),
+
+    /**
+     * Snapshotting games for the scoreboard renderer
+     */
+    SCOREBOARD("Scoreboard"),
+
+    /**
+     * Main thread callbacks of loading and unloading arena worlds
+     */
+    WORLD_LOADING("World loading"),
+
+    /**
+     * Moving players into the arena at the start of a match
+     */
+    PLAYER_ENTRY("Player entry"),
+
+    /**
+     * Countdowns before a game starts
+     */
+    COUNTDOWN("Countdowns"),
+
+    /**
+     * Showing, culling and updating holograms
+     */
+    HOLOGRAMS("Holograms"),
+
+    /**
+     * Driving the synthetic players of a load test
+     */
+    LOAD_TEST("Load test"),
+
+    /**
+     * Any other sync task scheduled through {@link com.joeyexecutive.dodgeball.util.BukkitTasks}
+     */
+    TASKS("Other tasks");
+
+    private final String displayName;
+
+    Subsystem(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+}
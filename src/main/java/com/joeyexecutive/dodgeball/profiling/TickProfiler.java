@@ -0,0 +1,248 @@
+package com.joeyexecutive.dodgeball.profiling;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Always on profiler that attributes main thread time to the {@link Subsystem}s of the plugin. Sync tasks
+ * and event handlers are timed as they run, each tick's totals are kept in a fixed size window of the last
+ * {@link #WINDOW_TICKS} ticks per subsystem, which rolling percentiles are read from.
+ * <p>
+ * Time is exclusive, a section that runs another profiled section inline (such as a task firing an event we
+ * listen to) is only charged for its own part. Everything here is only touched on the main thread
+ */
+public class TickProfiler implements Listener {
+
+    /**
+     * Ticks of history percentiles are calculated over, one minute on a healthy server
+     */
+    public static final int WINDOW_TICKS = 1200;
+
+    private static final Subsystem[] SUBSYSTEMS = Subsystem.values();
+
+    /**
+     * Nanos spent per subsystem in the current tick
+     */
+    private final long[] current = new long[SUBSYSTEMS.length];
+
+    /**
+     * Subsystem -> ring of nanos spent per tick
+     */
+    private final long[][] samples = new long[SUBSYSTEMS.length][WINDOW_TICKS];
+
+    /**
+     * Ring of nanos spent by the whole plugin per tick
+     */
+    private final long[] totals = new long[WINDOW_TICKS];
+
+    /**
+     * Ring of whole server tick durations in nanos
+     */
+    private final long[] tickDurations = new long[WINDOW_TICKS];
+
+    private int cursor = 0;
+
+    private int filled = 0;
+
+    /**
+     * Sections currently running, innermost last
+     */
+    private Subsystem[] stack = new Subsystem[8];
+
+    private int depth = 0;
+
+    /**
+     * When the innermost section started or last resumed
+     */
+    private long sectionStart;
+
+    /**
+     * Wrap a task so it is timed under a subsystem whenever it runs
+     */
+    public Runnable wrap(Subsystem subsystem, Runnable task) {
+        return () -> run(subsystem, task);
+    }
+
+    /**
+     * Run a task now, timed under a subsystem if we're on the main thread
+     */
+    public void run(Subsystem subsystem, Runnable task) {
+        if (!Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+
+        enter(subsystem);
+        try {
+            task.run();
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Register a listener with Bukkit so that every one of its handlers is timed under a subsystem. Behaves
+     * like {@link PluginManager#registerEvents}, priorities and ignoreCancelled are kept and
+     * {@link org.bukkit.event.HandlerList#unregisterAll(Listener)} still unregisters it
+     * @param plugin The plugin to register the handlers under
+     * @param subsystem What to charge the handlers' time to
+     * @param listener The listener
+     */
+    public void registerEvents(Plugin plugin, Subsystem subsystem, Listener listener) {
+        final PluginManager pluginManager = plugin.getServer().getPluginManager();
+        plugin.getPluginLoader().createRegisteredListeners(listener, plugin).forEach((eventClass, handlers) -> {
+            for (RegisteredListener handler : handlers) {
+                // the handler checks ignoreCancelled itself, so we always want to be called
+                pluginManager.registerEvent(eventClass, listener, handler.getPriority(), (ignored, event) -> {
+                    if (!Bukkit.isPrimaryThread()) {
+                        handler.callEvent(event);
+                        return;
+                    }
+
+                    enter(subsystem);
+                    try {
+                        handler.callEvent(event);
+                    } finally {
+                        exit();
+                    }
+                }, plugin, false);
+            }
+        });
+    }
+
+    private void enter(Subsystem subsystem) {
+        final long now = System.nanoTime();
+        if (depth > 0) {
+            current[stack[depth - 1].ordinal()] += now - sectionStart;
+        }
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = subsystem;
+        sectionStart = now;
+    }
+
+    private void exit() {
+        final long now = System.nanoTime();
+        current[stack[--depth].ordinal()] += now - sectionStart;
+        stack[depth] = null;
+        sectionStart = now;
+    }
+
+    /**
+     * Close off the tick, last so every other tick end handler is included in it
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        long total = 0;
+        for (int i = 0; i < current.length; i++) {
+            samples[i][cursor] = current[i];
+            total += current[i];
+            current[i] = 0;
+        }
+        totals[cursor] = total;
+        tickDurations[cursor] = (long) (event.getTickDuration() * 1_000_000.0D);
+
+        cursor = (cursor + 1) % WINDOW_TICKS;
+        filled = Math.min(filled + 1, WINDOW_TICKS);
+    }
+
+    /**
+     * @return how many ticks the percentiles are currently calculated over
+     */
+    public int getWindowTicks() {
+        return filled;
+    }
+
+    /**
+     * @return the percentiles of every subsystem over the window, in {@link Subsystem} order
+     */
+    public List<Percentiles> getSubsystemPercentiles() {
+        final List<Percentiles> percentiles = new ArrayList<>(SUBSYSTEMS.length);
+        for (Subsystem subsystem : SUBSYSTEMS) {
+            percentiles.add(percentiles(subsystem.getDisplayName(), samples[subsystem.ordinal()]));
+        }
+        return percentiles;
+    }
+
+    /**
+     * @return the percentiles of the time the whole plugin spent per tick
+     */
+    public Percentiles getTotalPercentiles() {
+        return percentiles("Plugin total", totals);
+    }
+
+    /**
+     * @return the percentiles of whole server tick durations, for comparing against
+     */
+    public Percentiles getTickPercentiles() {
+        return percentiles("Server tick", tickDurations);
+    }
+
+    /**
+     * Forget everything recorded so far
+     */
+    public void reset() {
+        for (long[] ring : samples) {
+            Arrays.fill(ring, 0);
+        }
+        Arrays.fill(totals, 0);
+        Arrays.fill(tickDurations, 0);
+        cursor = 0;
+        filled = 0;
+    }
+
+    private Percentiles percentiles(String name, long[] ring) {
+        if (filled == 0) {
+            return new Percentiles(name, 0, 0, 0, 0);
+        }
+
+        // only sorted when someone asks, never while recording
+        final long[] sorted = Arrays.copyOf(ring, filled);
+        Arrays.sort(sorted);
+        return new Percentiles(
+                name,
+                percentile(sorted, 0.50D),
+                percentile(sorted, 0.95D),
+                percentile(sorted, 0.99D),
+                sorted[sorted.length - 1]
+        );
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    /**
+     * Per tick percentiles of one line of the report, in nanos
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Percentiles {
+
+        private final String name;
+
+        private final long p50;
+
+        private final long p95;
+
+        private final long p99;
+
+        private final long max;
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.joeyexecutive.dodgeball.profiling;
+
+import com.joeyexecutive.dodgeball.util.ChatUtils;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * /dbprofile, shows the rolling per tick cost of every subsystem. /dbprofile reset starts a fresh window
+ */
+public class TickProfilerCommand implements CommandExecutor {
+
+    private final TickProfiler profiler;
+
+    public TickProfilerCommand(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("reset")) {
+            profiler.reset();
+            sender.sendMessage(ChatUtils.colorCode("&aTick profiler reset"));
+            return true;
+        }
+
+        sender.sendMessage(ChatUtils.colorCode("&6Main thread cost per tick over the last &e"
+                + profiler.getWindowTicks() + " &6ticks &7(p50 / p95 / p99 / max ms)"));
+        for (TickProfiler.Percentiles percentiles : profiler.getSubsystemPercentiles()) {
+            sender.sendMessage(line("&e", percentiles));
+        }
+        sender.sendMessage(line("&6", profiler.getTotalPercentiles()));
+        sender.sendMessage(line("&7", profiler.getTickPercentiles()));
+        return true;
+    }
+
+    private static String line(String color, TickProfiler.Percentiles percentiles) {
+        return ChatUtils.colorCode(color + percentiles.getName() + "&7: &f"
+                + millis(percentiles.getP50()) + " &7/ &f"
+                + millis(percentiles.getP95()) + " &7/ &f"
+                + millis(percentiles.getP99()) + " &7/ &f"
+                + millis(percentiles.getMax()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0D);
+    }
+
+}
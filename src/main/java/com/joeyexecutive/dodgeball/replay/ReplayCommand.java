@@ -0,0 +1,141 @@
+package com.joeyexecutive.dodgeball.replay;
+
+import com.joeyexecutive.dodgeball.util.ChatUtils;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * /dbreplay list, /dbreplay &lt;id&gt; to start watching a replay at its recorded coordinates in the world you
+ * are in, then /dbreplay seek &lt;seconds&gt;, /dbreplay speed &lt;multiplier&gt;, /dbreplay pause and
+ * /dbreplay stop to control it
+ */
+public class ReplayCommand implements CommandExecutor {
+
+    /**
+     * How many replays /dbreplay list shows
+     */
+    private static final int LIST_LIMIT = 10;
+
+    private static final Set<String> CONTROLS = Set.of("seek", "speed", "pause", "stop");
+
+    private final ReplayService replays;
+
+    public ReplayCommand(ReplayService replays) {
+        this.replays = replays;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(ChatUtils.colorCode("&cOnly players can watch replays"));
+            return true;
+        }
+        final Player player = (Player) sender;
+
+        if (args.length == 0) {
+            return false;
+        }
+
+        final String action = args[0].toLowerCase();
+        if (action.equals("list")) {
+            list(player);
+            return true;
+        }
+        if (!CONTROLS.contains(action)) {
+            open(player, args[0]);
+            return true;
+        }
+
+        final ReplayPlayback playback = replays.getPlayback(player);
+        if (playback == null) {
+            player.sendMessage(ChatUtils.colorCode("&cYou are not watching a replay, start one with /" + label + " <id>"));
+            return true;
+        }
+
+        switch (action) {
+            case "seek":
+                if (args.length < 2) {
+                    return false;
+                }
+                final Integer seconds = parseInt(args[1]);
+                if (seconds == null || seconds < 0) {
+                    player.sendMessage(ChatUtils.colorCode("&cSeconds must be a whole number of 0 or more"));
+                    return true;
+                }
+                playback.seek(seconds * 20);
+                player.sendMessage(ChatUtils.colorCode("&aJumped to &e" + seconds + "s"));
+                return true;
+            case "speed":
+                if (args.length < 2) {
+                    return false;
+                }
+                final Double speed = parseDouble(args[1]);
+                if (speed == null || !(speed > 0 && speed <= 16)) {
+                    player.sendMessage(ChatUtils.colorCode("&cSpeed must be a number above 0 and at most 16"));
+                    return true;
+                }
+                playback.setSpeed(speed);
+                player.sendMessage(ChatUtils.colorCode("&aPlaying at &e" + speed + "x"));
+                return true;
+            case "pause":
+                playback.setPaused(!playback.isPaused());
+                player.sendMessage(ChatUtils.colorCode(playback.isPaused() ? "&ePaused" : "&aResumed"));
+                return true;
+            default:
+                replays.stopWatching(player);
+                player.sendMessage(ChatUtils.colorCode("&7Stopped watching"));
+                return true;
+        }
+    }
+
+    private void open(Player player, String replayId) {
+        try {
+            replays.openPlayback(replayId, List.of(player));
+            player.sendMessage(ChatUtils.colorCode("&aWatching replay &e" + replayId
+                    + "&a, use seek, speed, pause and stop to control it"));
+        } catch (IOException e) {
+            player.sendMessage(ChatUtils.colorCode("&cCould not open replay " + replayId + ": " + e.getMessage()));
+        }
+    }
+
+    private void list(Player player) {
+        final List<String> ids;
+        try {
+            ids = replays.listReplays();
+        } catch (IOException e) {
+            player.sendMessage(ChatUtils.colorCode("&cCould not list replays: " + e.getMessage()));
+            return;
+        }
+
+        if (ids.isEmpty()) {
+            player.sendMessage(ChatUtils.colorCode("&7No replays have been recorded yet"));
+            return;
+        }
+        player.sendMessage(ChatUtils.colorCode("&6Latest replays:"));
+        ids.stream().limit(LIST_LIMIT).forEach(id -> player.sendMessage(ChatUtils.colorCode("&7- &f" + id)));
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.joeyexecutive.dodgeball.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only writer of a replay file through a memory mapping. The file is mapped one region at a time and
+ * grown a region at a time as it fills, then truncated to the written length when closed
+ */
+final class ReplayFileWriter implements Closeable {
+
+    private static final int REGION_SIZE = 1024 * 1024;
+
+    private final FileChannel channel;
+
+    private MappedByteBuffer region;
+
+    private long regionStart = 0;
+
+    ReplayFileWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+    }
+
+    /**
+     * @return how many bytes have been written so far
+     */
+    long position() {
+        return regionStart + region.position();
+    }
+
+    void writeByte(int value) throws IOException {
+        if (!region.hasRemaining()) {
+            nextRegion();
+        }
+        region.put((byte) value);
+    }
+
+    void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    void writeSignedVarInt(int value) throws IOException {
+        writeVarInt(ReplayFormat.zigZag(value));
+    }
+
+    void writeInt(int value) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            writeByte(value >>> shift);
+        }
+    }
+
+    void writeLong(long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            writeByte((int) (value >>> shift));
+        }
+    }
+
+    void writeString(String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    private void nextRegion() throws IOException {
+        regionStart += region.position();
+        region.force();
+        region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, REGION_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        final long length = position();
+        region.force();
+        region = null;
+        channel.truncate(length);
+        channel.close();
+    }
+
+}
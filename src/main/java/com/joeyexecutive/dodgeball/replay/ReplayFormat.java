@@ -0,0 +1,122 @@
+package com.joeyexecutive.dodgeball.replay;
+
+/**
+ * Constants describing the binary replay format.
+ * <p>
+ * A replay starts with a header of the {@link #MAGIC} int, the {@link #VERSION} byte, the start time in epoch
+ * millis as a long and the map name as a varint length followed by UTF-8 bytes. After that comes a stream of
+ * records, each a type byte followed by its fields. Integers are varints, signed values are zig-zag encoded,
+ * positions are fixed point in {@link #POSITION_SCALE}ths of a block and sent as deltas from the entity's
+ * previous position, angles are a single byte of 256ths of a turn.
+ * <p>
+ * Every {@link #KEYFRAME_INTERVAL_TICKS} ticks a {@link #KEYFRAME} record holds the absolute state of
+ * the replay, so decoding can start from any keyframe. The {@link #END} record is followed by the keyframe
+ * index (varint count, then a varint tick and long file offset per keyframe) and the file finishes with the
+ * long offset of that index and the {@link #MAGIC} int again, so readers can find it from the end
+ */
+public final class ReplayFormat {
+
+    public static final int MAGIC = 0x44425250; // DBRP
+
+    public static final byte VERSION = 2;
+
+    /**
+     * How many ticks apart keyframes are written
+     */
+    public static final int KEYFRAME_INTERVAL_TICKS = 100;
+
+    /**
+     * The footer is the index offset long followed by the magic int
+     */
+    public static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Positions are stored as whole numbers of 1/32 blocks
+     */
+    public static final double POSITION_SCALE = 32.0D;
+
+    /**
+     * Velocities are stored as whole numbers of 1/8000 blocks per tick, the same as the vanilla protocol
+     */
+    public static final double VELOCITY_SCALE = 8000.0D;
+
+    /**
+     * varint tick delta
+     */
+    public static final byte TICK = 0;
+
+    /**
+     * varint entity id, long uuid most significant bits, long least significant bits, varint length + name
+     */
+    public static final byte PLAYER = 1;
+
+    /**
+     * varint entity id, zig-zag dx, dy, dz, byte yaw, byte pitch
+     */
+    public static final byte POSITION = 2;
+
+    /**
+     * varint ball id, zig-zag x, y, z (absolute), zig-zag velocity x, y, z
+     */
+    public static final byte BALL_SPAWN = 3;
+
+    /**
+     * varint ball id, zig-zag dx, dy, dz
+     */
+    public static final byte BALL_POSITION = 4;
+
+    /**
+     * varint ball id
+     */
+    public static final byte BALL_REMOVE = 5;
+
+    /**
+     * varint thrower entity id, varint victim entity id
+     */
+    public static final byte HIT = 6;
+
+    /**
+     * varint team 1 score, varint team 2 score
+     */
+    public static final byte SCORE = 7;
+
+    /**
+     * varint absolute tick, varint player count then per player varint entity id, long uuid most significant
+     * bits, long least significant bits, varint length + name, varint entity count then per entity varint id,
+     * zig-zag x, y, z (absolute), byte yaw, byte pitch, varint ball count then per ball varint id, zig-zag x,
+     * y, z (absolute), varint team 1 score, varint team 2 score
+     */
+    public static final byte KEYFRAME = 8;
+
+    /**
+     * End of the replay, followed by the keyframe index and footer
+     */
+    public static final byte END = 127;
+
+    private ReplayFormat() {}
+
+    public static int toFixed(double coordinate) {
+        return (int) Math.round(coordinate * POSITION_SCALE);
+    }
+
+    public static double fromFixed(int fixed) {
+        return fixed / POSITION_SCALE;
+    }
+
+    public static byte toAngle(float degrees) {
+        return (byte) (int) (degrees * 256.0F / 360.0F);
+    }
+
+    public static float fromAngle(byte angle) {
+        return angle * 360.0F / 256.0F;
+    }
+
+    public static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    public static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.joeyexecutive.dodgeball.replay;
+
+import com.comphenix.protocol.events.PacketContainer;
+import com.joeyexecutive.dodgeball.util.BukkitTasks;
+import com.joeyexecutive.dodgeball.util.Packets;
+import com.joeyexecutive.dodgeball.util.VirtualEntities;
+import lombok.Getter;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Plays a replay back to a set of viewers using nothing but packets. Players are shown as visible, named armor
+ * stands and balls as snowballs, all of them virtual entities that only exist on the viewers' clients, so no world
+ * has to be loaded and any number of playbacks can run side by side wherever the viewers are standing.
+ * <p>
+ * Playback is driven by an async timer, every method that touches the reader is synchronized on this. The
+ * playback closes itself once the end of the replay is reached
+ */
+public class ReplayPlayback implements Closeable, ReplayReader.Listener {
+
+    private final ReplayReader reader;
+
+    private final Logger logger;
+
+    private final Set<Player> viewers = new CopyOnWriteArraySet<>();
+
+    /**
+     * Replay entity or ball id -> virtual entity id shown to the viewers
+     */
+    private final Map<Integer, Integer> entities = new HashMap<>();
+
+    private final Map<Integer, Integer> balls = new HashMap<>();
+
+    private final BukkitTask task;
+
+    /**
+     * The replay tick shown to the viewers, fractional so slow playback works
+     */
+    private double position = 0;
+
+    @Getter
+    private volatile double speed = 1.0D;
+
+    @Getter
+    private volatile boolean paused = false;
+
+    private volatile boolean closed = false;
+
+    ReplayPlayback(ReplayReader reader, Logger logger) {
+        this.reader = reader;
+        this.logger = logger;
+        this.task = BukkitTasks.asyncTimer(1L, this::tick);
+    }
+
+    public void addViewer(Player player) {
+        if (viewers.add(player)) {
+            synchronized (this) {
+                spawnAll(List.of(player));
+            }
+        }
+    }
+
+    public void removeViewer(Player player) {
+        if (viewers.remove(player)) {
+            synchronized (this) {
+                Packets.send(destroyPacket(), player);
+            }
+        }
+    }
+
+    public Set<Player> getViewers() {
+        return Set.copyOf(viewers);
+    }
+
+    /**
+     * @param speed How many replay ticks are played per server tick
+     */
+    public void setSpeed(double speed) {
+        this.speed = Math.max(0.0D, speed);
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * @return the replay tick currently shown
+     */
+    public synchronized int getTick() {
+        return reader.getTick();
+    }
+
+    public boolean isFinished() {
+        return closed || reader.isFinished();
+    }
+
+    /**
+     * Jump to a tick, respawning everything the viewers see from the reader's state
+     * @param tick The replay tick to jump to
+     */
+    public synchronized void seek(int tick) {
+        Packets.send(destroyPacket(), viewers);
+        entities.clear();
+        balls.clear();
+
+        reader.seek(Math.max(0, tick));
+        position = reader.getTick();
+        spawnAll(viewers);
+    }
+
+    private synchronized void tick() {
+        if (closed || paused) {
+            return;
+        }
+
+        try {
+            position += speed;
+            reader.advanceTo((int) position, this);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Replay playback failed", e);
+            close();
+            return;
+        }
+
+        // releases the timer and the mapped file rather than idling at the end forever
+        if (reader.isFinished()) {
+            close();
+        }
+    }
+
+    /**
+     * Spawn everything in the reader's current state for some viewers
+     */
+    private void spawnAll(Collection<Player> targets) {
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        reader.getEntityPositions().forEach((id, pos) -> {
+            final int virtualId = entities.computeIfAbsent(id, key -> VirtualEntities.nextEntityId());
+            Packets.send(VirtualEntities.spawn(virtualId, EntityType.ARMOR_STAND, ReplayReader.positionX(pos), ReplayReader.positionY(pos), ReplayReader.positionZ(pos)), targets);
+            Packets.send(VirtualEntities.figure(virtualId, Component.text(reader.getPlayerName(id))), targets);
+            Packets.send(VirtualEntities.teleport(virtualId, ReplayReader.positionX(pos), ReplayReader.positionY(pos), ReplayReader.positionZ(pos), ReplayReader.positionYaw(pos), ReplayReader.positionPitch(pos)), targets);
+        });
+        reader.getBallPositions().forEach((id, pos) -> {
+            final int virtualId = balls.computeIfAbsent(id, key -> VirtualEntities.nextEntityId());
+            Packets.send(VirtualEntities.spawn(virtualId, EntityType.SNOWBALL, ReplayReader.positionX(pos), ReplayReader.positionY(pos), ReplayReader.positionZ(pos)), targets);
+        });
+    }
+
+    private PacketContainer destroyPacket() {
+        final List<Integer> ids = new ArrayList<>(entities.values());
+        ids.addAll(balls.values());
+        return VirtualEntities.destroy(ids);
+    }
+
+    @Override
+    public void onPlayer(int entityId, UUID uuid, String name) {
+        final Integer virtualId = entities.get(entityId);
+        if (virtualId != null) {
+            Packets.send(VirtualEntities.customName(virtualId, Component.text(name)), viewers);
+        }
+    }
+
+    @Override
+    public void onMove(int entityId, double x, double y, double z, float yaw, float pitch) {
+        Integer virtualId = entities.get(entityId);
+        if (virtualId == null) {
+            virtualId = VirtualEntities.nextEntityId();
+            entities.put(entityId, virtualId);
+            Packets.send(VirtualEntities.spawn(virtualId, EntityType.ARMOR_STAND, x, y, z), viewers);
+            Packets.send(VirtualEntities.figure(virtualId, Component.text(reader.getPlayerName(entityId))), viewers);
+        }
+        Packets.send(VirtualEntities.teleport(virtualId, x, y, z, yaw, pitch), viewers);
+    }
+
+    @Override
+    public void onBallSpawn(int ballId, double x, double y, double z, double velocityX, double velocityY, double velocityZ) {
+        final int virtualId = VirtualEntities.nextEntityId();
+        final Integer previous = balls.put(ballId, virtualId);
+        if (previous != null) {
+            Packets.send(VirtualEntities.destroy(List.of(previous)), viewers);
+        }
+        Packets.send(VirtualEntities.spawn(virtualId, EntityType.SNOWBALL, x, y, z), viewers);
+    }
+
+    @Override
+    public void onBallMove(int ballId, double x, double y, double z) {
+        final Integer virtualId = balls.get(ballId);
+        if (virtualId != null) {
+            Packets.send(VirtualEntities.teleport(virtualId, x, y, z, 0.0F, 0.0F), viewers);
+        }
+    }
+
+    @Override
+    public void onBallRemove(int ballId) {
+        final Integer virtualId = balls.remove(ballId);
+        if (virtualId != null) {
+            Packets.send(VirtualEntities.destroy(List.of(virtualId)), viewers);
+        }
+    }
+
+    /**
+     * Stop playing, remove everything from the viewers and release the file
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        task.cancel();
+
+        Packets.send(destroyPacket(), viewers);
+        viewers.clear();
+        entities.clear();
+        balls.clear();
+
+        try {
+            reader.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close replay", e);
+        }
+    }
+
+}
@@ -0,0 +1,363 @@
+package com.joeyexecutive.dodgeball.replay;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Decodes a finished replay file through a read-only memory mapping. The reader keeps the decoded state of
+ * the replay (players, positions, balls and score) at its current tick, moving forwards with
+ * {@link #advanceTo(int, Listener)} and jumping anywhere with {@link #seek(int)}, which binary searches the
+ * keyframe index and only decodes the short run of deltas after the closest keyframe.
+ * <p>
+ * Not thread safe, a reader belongs to a single playback
+ */
+public class ReplayReader implements Closeable {
+
+    /**
+     * Receives the events decoded while advancing, positions are absolute and in blocks
+     */
+    public interface Listener {
+
+        default void onPlayer(int entityId, UUID uuid, String name) {}
+
+        default void onMove(int entityId, double x, double y, double z, float yaw, float pitch) {}
+
+        default void onBallSpawn(int ballId, double x, double y, double z, double velocityX, double velocityY, double velocityZ) {}
+
+        default void onBallMove(int ballId, double x, double y, double z) {}
+
+        default void onBallRemove(int ballId) {}
+
+        default void onHit(int throwerEntityId, int victimEntityId) {}
+
+        default void onScore(int team1, int team2) {}
+
+    }
+
+    private static final Listener SILENT = new Listener() {};
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    @Getter
+    private final long startMillis;
+
+    @Getter
+    private final String mapName;
+
+    private final int[] keyframeTicks;
+
+    private final int[] keyframeOffsets;
+
+    /**
+     * Where the record stream ends and the index begins
+     */
+    private final int indexOffset;
+
+    @Getter
+    private int tick = 0;
+
+    @Getter
+    private boolean finished = false;
+
+    @Getter
+    private int score1 = 0;
+
+    @Getter
+    private int score2 = 0;
+
+    /**
+     * Entity id -> uuid and name
+     */
+    private final Map<Integer, UUID> playerIds = new HashMap<>();
+
+    private final Map<Integer, String> playerNames = new HashMap<>();
+
+    /**
+     * Entity or ball id -> x, y, z, yaw, pitch with positions in fixed point and angles as unsigned bytes
+     */
+    private final Map<Integer, int[]> entityPositions = new HashMap<>();
+
+    private final Map<Integer, int[]> ballPositions = new HashMap<>();
+
+    public ReplayReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Replay " + path + " is too large");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (size < ReplayFormat.FOOTER_BYTES || buffer.getInt(0) != ReplayFormat.MAGIC) {
+                throw new IOException(path + " is not a replay");
+            }
+            if (buffer.getInt((int) size - Integer.BYTES) != ReplayFormat.MAGIC) {
+                throw new IOException("Replay " + path + " was never finished");
+            }
+
+            buffer.position(Integer.BYTES);
+            final byte version = buffer.get();
+            if (version != ReplayFormat.VERSION) {
+                throw new IOException("Replay " + path + " has unsupported version " + version);
+            }
+            this.startMillis = buffer.getLong();
+            this.mapName = readString();
+            final int streamStart = buffer.position();
+
+            this.indexOffset = (int) buffer.getLong((int) size - ReplayFormat.FOOTER_BYTES);
+            buffer.position(indexOffset);
+            final int keyframes = readVarInt();
+            this.keyframeTicks = new int[keyframes];
+            this.keyframeOffsets = new int[keyframes];
+            for (int i = 0; i < keyframes; i++) {
+                keyframeTicks[i] = readVarInt();
+                keyframeOffsets[i] = (int) buffer.getLong();
+            }
+
+            buffer.position(streamStart);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the tick of the last keyframe, a lower bound for the length of the replay
+     */
+    public int getLastKeyframeTick() {
+        return keyframeTicks.length == 0 ? 0 : keyframeTicks[keyframeTicks.length - 1];
+    }
+
+    public Map<Integer, UUID> getPlayerIds() {
+        return Collections.unmodifiableMap(playerIds);
+    }
+
+    public String getPlayerName(int entityId) {
+        return playerNames.getOrDefault(entityId, "");
+    }
+
+    /**
+     * @return entity id -> position, see {@link #positionX(int[])} and friends to read them
+     */
+    public Map<Integer, int[]> getEntityPositions() {
+        return Collections.unmodifiableMap(entityPositions);
+    }
+
+    /**
+     * @return ball id -> position, see {@link #positionX(int[])} and friends to read them
+     */
+    public Map<Integer, int[]> getBallPositions() {
+        return Collections.unmodifiableMap(ballPositions);
+    }
+
+    public static double positionX(int[] position) {
+        return ReplayFormat.fromFixed(position[0]);
+    }
+
+    public static double positionY(int[] position) {
+        return ReplayFormat.fromFixed(position[1]);
+    }
+
+    public static double positionZ(int[] position) {
+        return ReplayFormat.fromFixed(position[2]);
+    }
+
+    public static float positionYaw(int[] position) {
+        return ReplayFormat.fromAngle((byte) position[3]);
+    }
+
+    public static float positionPitch(int[] position) {
+        return ReplayFormat.fromAngle((byte) position[4]);
+    }
+
+    /**
+     * Jump to the state at a tick without reporting any events. Callers are expected to rebuild whatever they
+     * show from the reader's state afterwards
+     * @param target The tick to jump to
+     */
+    public void seek(int target) {
+        int index = Arrays.binarySearch(keyframeTicks, target);
+        if (index < 0) {
+            index = -index - 2;
+        }
+
+        playerIds.clear();
+        playerNames.clear();
+        entityPositions.clear();
+        ballPositions.clear();
+        score1 = 0;
+        score2 = 0;
+        finished = false;
+
+        if (index < 0) {
+            // before the first keyframe, nothing has happened yet
+            tick = 0;
+            buffer.position(keyframeOffsets.length == 0 ? indexOffset : keyframeOffsets[0]);
+            return;
+        }
+
+        buffer.position(keyframeOffsets[index]);
+        if (buffer.get() != ReplayFormat.KEYFRAME) {
+            throw new IllegalStateException("Replay index does not point at a keyframe");
+        }
+        readKeyframe();
+        advanceTo(target, SILENT);
+    }
+
+    /**
+     * Decode forwards until the next record would be after the target tick
+     * @param target The tick to advance to
+     * @param listener Told about everything that happens on the way
+     */
+    public void advanceTo(int target, Listener listener) {
+        while (!finished && buffer.position() < indexOffset) {
+            final int start = buffer.position();
+            final byte type = buffer.get();
+
+            switch (type) {
+                case ReplayFormat.TICK -> {
+                    final int next = tick + readVarInt();
+                    if (next > target) {
+                        buffer.position(start);
+                        return;
+                    }
+                    tick = next;
+                }
+                case ReplayFormat.KEYFRAME -> readKeyframe();
+                case ReplayFormat.PLAYER -> {
+                    final int id = readVarInt();
+                    final UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+                    final String name = readString();
+                    playerIds.put(id, uuid);
+                    playerNames.put(id, name);
+                    listener.onPlayer(id, uuid, name);
+                }
+                case ReplayFormat.POSITION -> {
+                    final int id = readVarInt();
+                    final int[] position = entityPositions.computeIfAbsent(id, key -> new int[5]);
+                    position[0] += readSignedVarInt();
+                    position[1] += readSignedVarInt();
+                    position[2] += readSignedVarInt();
+                    position[3] = buffer.get() & 0xFF;
+                    position[4] = buffer.get() & 0xFF;
+                    listener.onMove(id, positionX(position), positionY(position), positionZ(position), positionYaw(position), positionPitch(position));
+                }
+                case ReplayFormat.BALL_SPAWN -> {
+                    final int id = readVarInt();
+                    final int[] position = new int[] {readSignedVarInt(), readSignedVarInt(), readSignedVarInt(), 0, 0};
+                    ballPositions.put(id, position);
+                    listener.onBallSpawn(
+                            id,
+                            positionX(position),
+                            positionY(position),
+                            positionZ(position),
+                            readSignedVarInt() / ReplayFormat.VELOCITY_SCALE,
+                            readSignedVarInt() / ReplayFormat.VELOCITY_SCALE,
+                            readSignedVarInt() / ReplayFormat.VELOCITY_SCALE
+                    );
+                }
+                case ReplayFormat.BALL_POSITION -> {
+                    final int id = readVarInt();
+                    final int[] position = ballPositions.computeIfAbsent(id, key -> new int[5]);
+                    position[0] += readSignedVarInt();
+                    position[1] += readSignedVarInt();
+                    position[2] += readSignedVarInt();
+                    listener.onBallMove(id, positionX(position), positionY(position), positionZ(position));
+                }
+                case ReplayFormat.BALL_REMOVE -> {
+                    final int id = readVarInt();
+                    ballPositions.remove(id);
+                    listener.onBallRemove(id);
+                }
+                case ReplayFormat.HIT -> listener.onHit(readVarInt(), readVarInt());
+                case ReplayFormat.SCORE -> {
+                    score1 = readVarInt();
+                    score2 = readVarInt();
+                    listener.onScore(score1, score2);
+                }
+                case ReplayFormat.END -> finished = true;
+                default -> throw new IllegalStateException("Unknown replay record " + type + " at " + start);
+            }
+        }
+        finished = true;
+    }
+
+    /**
+     * Replace the state with the absolute state of a keyframe, the type byte has already been read
+     */
+    private void readKeyframe() {
+        tick = readVarInt();
+
+        playerIds.clear();
+        playerNames.clear();
+        final int players = readVarInt();
+        for (int i = 0; i < players; i++) {
+            final int id = readVarInt();
+            playerIds.put(id, new UUID(buffer.getLong(), buffer.getLong()));
+            playerNames.put(id, readString());
+        }
+
+        entityPositions.clear();
+        final int entities = readVarInt();
+        for (int i = 0; i < entities; i++) {
+            entityPositions.put(readVarInt(), new int[] {
+                    readSignedVarInt(),
+                    readSignedVarInt(),
+                    readSignedVarInt(),
+                    buffer.get() & 0xFF,
+                    buffer.get() & 0xFF
+            });
+        }
+
+        ballPositions.clear();
+        final int balls = readVarInt();
+        for (int i = 0; i < balls; i++) {
+            ballPositions.put(readVarInt(), new int[] {readSignedVarInt(), readSignedVarInt(), readSignedVarInt(), 0, 0});
+        }
+
+        score1 = readVarInt();
+        score2 = readVarInt();
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private int readSignedVarInt() {
+        return ReplayFormat.unZigZag(readVarInt());
+    }
+
+    private String readString() {
+        final byte[] bytes = new byte[readVarInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,389 @@
+package com.joeyexecutive.dodgeball.replay;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a single game to a replay file. The record methods are meant to be called from the game's thread
+ * (only one thread may record into a recorder) and do nothing but pack a few numbers into a ring buffer,
+ * all encoding and I/O happens on the {@link ReplayService} encoder thread
+ */
+public class ReplayRecorder {
+
+    private final ReplayRingBuffer buffer;
+
+    private final Path path;
+
+    private final String mapName;
+
+    private final long startMillis = System.currentTimeMillis();
+
+    private final int startTick = Bukkit.getCurrentTick();
+
+    /**
+     * Player uuid -> name, strings don't fit in the ring buffer so they are passed alongside
+     */
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+
+    private final CompletableFuture<Path> finished = new CompletableFuture<>();
+
+    private volatile boolean stopping = false;
+
+    // everything below is only touched by the encoder thread
+
+    private ReplayFileWriter writer;
+
+    private int lastTick = 0;
+
+    private final Map<Integer, int[]> entityPositions = new HashMap<>();
+
+    private final Map<Integer, int[]> ballPositions = new HashMap<>();
+
+    private final Map<Integer, UUID> playerIds = new HashMap<>();
+
+    private int score1 = 0;
+
+    private int score2 = 0;
+
+    private int lastKeyframeTick = 0;
+
+    private int keyframeCount = 0;
+
+    private int[] keyframeTicks = new int[16];
+
+    private long[] keyframeOffsets = new long[16];
+
+    private final ReplayRingBuffer.SlotConsumer encoder = this::encode;
+
+    ReplayRecorder(Path path, String mapName, int bufferEvents) {
+        this.path = path;
+        this.mapName = mapName;
+        this.buffer = new ReplayRingBuffer(bufferEvents);
+    }
+
+    /**
+     * Record a player being part of the game, so playback can name and skin them
+     */
+    public void recordPlayer(int entityId, UUID uuid, String name) {
+        names.put(uuid, name);
+        offer(ReplayFormat.PLAYER, entityId, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), 0L);
+    }
+
+    public void recordPosition(int entityId, Location location) {
+        offer(ReplayFormat.POSITION, entityId, packXY(location), packZAngles(location), 0L);
+    }
+
+    /**
+     * Record a ball being thrown. There are no ball entities in the plugin yet, so nothing calls this or the
+     * other ball events until ball mechanics exist to hook them into
+     */
+    public void recordBallSpawn(int ballId, Location location, Vector velocity) {
+        offer(ReplayFormat.BALL_SPAWN, ballId, packXY(location), packZAngles(location), packVelocity(velocity));
+    }
+
+    public void recordBallPosition(int ballId, Location location) {
+        offer(ReplayFormat.BALL_POSITION, ballId, packXY(location), packZAngles(location), 0L);
+    }
+
+    public void recordBallRemove(int ballId) {
+        offer(ReplayFormat.BALL_REMOVE, ballId, 0L, 0L, 0L);
+    }
+
+    public void recordHit(int throwerEntityId, int victimEntityId) {
+        offer(ReplayFormat.HIT, throwerEntityId, victimEntityId, 0L, 0L);
+    }
+
+    public void recordScore(int team1, int team2) {
+        offer(ReplayFormat.SCORE, 0, team1, team2, 0L);
+    }
+
+    /**
+     * Stop recording. Anything already recorded is still written
+     * @return A future of the replay file, completed once it has been fully written and closed
+     */
+    public CompletableFuture<Path> stop() {
+        stopping = true;
+        return finished;
+    }
+
+    /**
+     * @return a future of the replay file, completed once it has been fully written and closed
+     */
+    public CompletableFuture<Path> getFinished() {
+        return finished;
+    }
+
+    /**
+     * @return how many events were dropped because the encoder couldn't keep up
+     */
+    public long getDroppedEvents() {
+        return buffer.getDropped();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private void offer(byte type, int id, long b, long c, long d) {
+        if (stopping) {
+            return;
+        }
+
+        final long tick = Bukkit.getCurrentTick() - startTick;
+        buffer.offer(((long) type << 56) | ((tick & 0xFFFFFFL) << 32) | (id & 0xFFFFFFFFL), b, c, d);
+    }
+
+    /**
+     * Encoder thread, write the header
+     */
+    void open() throws IOException {
+        writer = new ReplayFileWriter(path);
+        writer.writeInt(ReplayFormat.MAGIC);
+        writer.writeByte(ReplayFormat.VERSION);
+        writer.writeLong(startMillis);
+        writer.writeString(mapName);
+    }
+
+    /**
+     * Encoder thread, encode everything in the buffer and finish the file if we are stopping
+     * @return Whether this recorder is done and can be forgotten
+     */
+    boolean drain() {
+        if (finished.isDone()) {
+            return true;
+        }
+
+        try {
+            if (writer == null) {
+                open();
+            }
+
+            // read the flag first, anything offered before it was set is guaranteed to be drained below
+            final boolean stop = stopping;
+            buffer.drain(encoder);
+
+            if (stop && buffer.isEmpty()) {
+                writeEnd();
+                writer.close();
+                finished.complete(path);
+                return true;
+            }
+        } catch (IOException | RuntimeException e) {
+            finished.completeExceptionally(e);
+            closeQuietly();
+            return true;
+        }
+        return false;
+    }
+
+    private void encode(long a, long b, long c, long d) {
+        final byte type = (byte) (a >>> 56);
+        final int tick = (int) ((a >>> 32) & 0xFFFFFFL);
+        final int id = (int) a;
+
+        try {
+            if (tick != lastTick) {
+                writer.writeByte(ReplayFormat.TICK);
+                writer.writeVarInt(tick - lastTick);
+                lastTick = tick;
+            }
+            if (keyframeCount == 0 || tick - lastKeyframeTick >= ReplayFormat.KEYFRAME_INTERVAL_TICKS) {
+                writeKeyframe(tick);
+            }
+
+            switch (type) {
+                case ReplayFormat.PLAYER -> {
+                    final UUID uuid = new UUID(b, c);
+                    playerIds.put(id, uuid);
+                    writer.writeByte(type);
+                    writer.writeVarInt(id);
+                    writer.writeLong(b);
+                    writer.writeLong(c);
+                    writer.writeString(names.getOrDefault(uuid, ""));
+                }
+                case ReplayFormat.POSITION -> writeMove(type, id, b, c, entityPositions, true);
+                case ReplayFormat.BALL_POSITION -> writeMove(type, id, b, c, ballPositions, false);
+                case ReplayFormat.BALL_SPAWN -> {
+                    final int[] position = unpackPosition(b, c);
+                    position[3] = 0;
+                    position[4] = 0;
+                    ballPositions.put(id, position);
+                    writer.writeByte(type);
+                    writer.writeVarInt(id);
+                    writer.writeSignedVarInt(position[0]);
+                    writer.writeSignedVarInt(position[1]);
+                    writer.writeSignedVarInt(position[2]);
+                    writer.writeSignedVarInt((short) (d >>> 32));
+                    writer.writeSignedVarInt((short) (d >>> 16));
+                    writer.writeSignedVarInt((short) d);
+                }
+                case ReplayFormat.BALL_REMOVE -> {
+                    ballPositions.remove(id);
+                    writer.writeByte(type);
+                    writer.writeVarInt(id);
+                }
+                case ReplayFormat.HIT -> {
+                    writer.writeByte(type);
+                    writer.writeVarInt(id);
+                    writer.writeVarInt((int) b);
+                }
+                case ReplayFormat.SCORE -> {
+                    score1 = (int) b;
+                    score2 = (int) c;
+                    writer.writeByte(type);
+                    writer.writeVarInt((int) b);
+                    writer.writeVarInt((int) c);
+                }
+                default -> throw new IllegalStateException("Unknown replay event " + type);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write replay " + path, e);
+        }
+    }
+
+    /**
+     * Write the absolute state of everything and remember where it is for the index
+     */
+    private void writeKeyframe(int tick) throws IOException {
+        if (keyframeCount == keyframeTicks.length) {
+            keyframeTicks = Arrays.copyOf(keyframeTicks, keyframeCount * 2);
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+        }
+        keyframeTicks[keyframeCount] = tick;
+        keyframeOffsets[keyframeCount] = writer.position();
+        keyframeCount++;
+        lastKeyframeTick = tick;
+
+        writer.writeByte(ReplayFormat.KEYFRAME);
+        writer.writeVarInt(tick);
+
+        writer.writeVarInt(playerIds.size());
+        for (Map.Entry<Integer, UUID> entry : playerIds.entrySet()) {
+            writer.writeVarInt(entry.getKey());
+            writer.writeLong(entry.getValue().getMostSignificantBits());
+            writer.writeLong(entry.getValue().getLeastSignificantBits());
+            writer.writeString(names.getOrDefault(entry.getValue(), ""));
+        }
+
+        writer.writeVarInt(entityPositions.size());
+        for (Map.Entry<Integer, int[]> entry : entityPositions.entrySet()) {
+            final int[] position = entry.getValue();
+            writer.writeVarInt(entry.getKey());
+            writer.writeSignedVarInt(position[0]);
+            writer.writeSignedVarInt(position[1]);
+            writer.writeSignedVarInt(position[2]);
+            writer.writeByte(position[3]);
+            writer.writeByte(position[4]);
+        }
+
+        writer.writeVarInt(ballPositions.size());
+        for (Map.Entry<Integer, int[]> entry : ballPositions.entrySet()) {
+            final int[] position = entry.getValue();
+            writer.writeVarInt(entry.getKey());
+            writer.writeSignedVarInt(position[0]);
+            writer.writeSignedVarInt(position[1]);
+            writer.writeSignedVarInt(position[2]);
+        }
+
+        writer.writeVarInt(score1);
+        writer.writeVarInt(score2);
+    }
+
+    /**
+     * Write the end record, the keyframe index and the footer pointing at it
+     */
+    private void writeEnd() throws IOException {
+        writer.writeByte(ReplayFormat.END);
+
+        final long indexOffset = writer.position();
+        writer.writeVarInt(keyframeCount);
+        for (int i = 0; i < keyframeCount; i++) {
+            writer.writeVarInt(keyframeTicks[i]);
+            writer.writeLong(keyframeOffsets[i]);
+        }
+
+        writer.writeLong(indexOffset);
+        writer.writeInt(ReplayFormat.MAGIC);
+    }
+
+    /**
+     * Write a position as a delta from the previous one, skipping it entirely if nothing changed
+     */
+    private void writeMove(byte type, int id, long b, long c, Map<Integer, int[]> last, boolean angles) throws IOException {
+        final int[] position = unpackPosition(b, c);
+        if (!angles) {
+            position[3] = 0;
+            position[4] = 0;
+        }
+
+        final int[] previous = last.getOrDefault(id, new int[5]);
+        if (Arrays.equals(position, previous)) {
+            return;
+        }
+        last.put(id, position);
+
+        writer.writeByte(type);
+        writer.writeVarInt(id);
+        writer.writeSignedVarInt(position[0] - previous[0]);
+        writer.writeSignedVarInt(position[1] - previous[1]);
+        writer.writeSignedVarInt(position[2] - previous[2]);
+        if (angles) {
+            writer.writeByte(position[3]);
+            writer.writeByte(position[4]);
+        }
+    }
+
+    private void closeQuietly() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // already failing
+            }
+        }
+    }
+
+    private static long packXY(Location location) {
+        return ((long) ReplayFormat.toFixed(location.getX()) << 32) | (ReplayFormat.toFixed(location.getY()) & 0xFFFFFFFFL);
+    }
+
+    private static long packZAngles(Location location) {
+        return ((long) ReplayFormat.toFixed(location.getZ()) << 32)
+                | ((ReplayFormat.toAngle(location.getYaw()) & 0xFFL) << 8)
+                | (ReplayFormat.toAngle(location.getPitch()) & 0xFFL);
+    }
+
+    private static long packVelocity(Vector velocity) {
+        return ((toVelocity(velocity.getX()) & 0xFFFFL) << 32)
+                | ((toVelocity(velocity.getY()) & 0xFFFFL) << 16)
+                | (toVelocity(velocity.getZ()) & 0xFFFFL);
+    }
+
+    private static short toVelocity(double velocity) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(velocity * ReplayFormat.VELOCITY_SCALE)));
+    }
+
+    /**
+     * @return x, y, z, yaw, pitch, with angles as unsigned bytes
+     */
+    private static int[] unpackPosition(long b, long c) {
+        return new int[] {
+                (int) (b >>> 32),
+                (int) b,
+                (int) (c >>> 32),
+                (int) ((c >>> 8) & 0xFF),
+                (int) (c & 0xFF)
+        };
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.joeyexecutive.dodgeball.replay;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single producer, single consumer ring buffer of fixed size events, each four longs wide.
+ * The producer never blocks or allocates, when the buffer is full the event is dropped and counted
+ */
+final class ReplayRingBuffer {
+
+    private static final int SLOT_LONGS = 4;
+
+    /**
+     * Receives drained events without any boxing
+     */
+    interface SlotConsumer {
+        void accept(long a, long b, long c, long d);
+    }
+
+    private final long[] slots;
+
+    private final int capacity;
+
+    private final int mask;
+
+    /**
+     * Index of the next event the producer will write
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Index of the next event the consumer will read
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity How many events fit in the buffer, rounded up to a power of two
+     */
+    ReplayRingBuffer(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new long[this.capacity * SLOT_LONGS];
+    }
+
+    /**
+     * Producer side, add an event
+     * @return Whether there was room for the event
+     */
+    boolean offer(long a, long b, long c, long d) {
+        final long position = head.get();
+        if (position - tail.get() >= capacity) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        final int index = (int) (position & mask) * SLOT_LONGS;
+        slots[index] = a;
+        slots[index + 1] = b;
+        slots[index + 2] = c;
+        slots[index + 3] = d;
+        // publishes the slot writes above to the consumer
+        head.lazySet(position + 1);
+        return true;
+    }
+
+    /**
+     * Consumer side, hand every available event to the consumer
+     * @return How many events were drained
+     */
+    int drain(SlotConsumer consumer) {
+        long position = tail.get();
+        final long available = head.get();
+        int drained = 0;
+        while (position < available) {
+            final int index = (int) (position & mask) * SLOT_LONGS;
+            consumer.accept(slots[index], slots[index + 1], slots[index + 2], slots[index + 3]);
+            position++;
+            drained++;
+        }
+        // hands the slots back to the producer
+        tail.lazySet(position);
+        return drained;
+    }
+
+    boolean isEmpty() {
+        return tail.get() >= head.get();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.joeyexecutive.dodgeball.replay;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Owns the single background thread that encodes every active {@link ReplayRecorder} and keeps track of
+ * every running {@link ReplayPlayback} and who is watching it. A player watches at most one playback, and a
+ * playback is closed once nobody is watching it anymore
+ */
+public class ReplayService implements Listener, Closeable {
+
+    /**
+     * How long the encoder sleeps between passes over the recorders while any are active, the ring buffers
+     * absorb anything recorded in the meantime. With no recorders it parks until one is started
+     */
+    private static final long PASS_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final String EXTENSION = ".dbr";
+
+    /**
+     * What replay ids look like, anything else could point outside the replay folder
+     */
+    private static final Pattern REPLAY_ID = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Path folder;
+
+    private final int bufferEvents;
+
+    private final Logger logger;
+
+    private final List<ReplayRecorder> recorders = new CopyOnWriteArrayList<>();
+
+    private final List<ReplayPlayback> playbacks = new CopyOnWriteArrayList<>();
+
+    /**
+     * Viewer -> the playback they are watching
+     */
+    private final Map<Player, ReplayPlayback> watching = new ConcurrentHashMap<>();
+
+    private final Thread encoderThread;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param folder Where replay files are written
+     * @param bufferEvents How many events each recorder can buffer before dropping
+     * @param logger Logger to report failed replays to
+     */
+    public ReplayService(Path folder, int bufferEvents, Logger logger) throws IOException {
+        this.folder = Files.createDirectories(folder);
+        this.bufferEvents = bufferEvents;
+        this.logger = logger;
+
+        this.encoderThread = new Thread(this::encodeLoop, "Dodgeball Replay Encoder");
+        this.encoderThread.setDaemon(true);
+        this.encoderThread.start();
+    }
+
+    /**
+     * Start recording a new replay
+     * @param replayId The id of the replay, used as the file name
+     * @param mapName The name of the map being played
+     * @return The recorder to record into
+     */
+    public ReplayRecorder startRecording(String replayId, String mapName) {
+        final ReplayRecorder recorder = new ReplayRecorder(getReplayPath(replayId), mapName, bufferEvents);
+        recorders.add(recorder);
+        LockSupport.unpark(encoderThread);
+        recorder.getFinished().whenComplete((path, throwable) -> {
+            if (throwable != null) {
+                logger.log(Level.WARNING, "Failed to record replay " + replayId, throwable);
+            } else if (recorder.getDroppedEvents() > 0) {
+                logger.warning("Replay " + replayId + " dropped " + recorder.getDroppedEvents() + " events");
+            }
+        });
+        return recorder;
+    }
+
+    /**
+     * Start playing a finished replay back to some viewers
+     * @param replayId The id of the replay
+     * @param viewers Who should watch it, they stop watching whatever they were watching before
+     * @return The running playback
+     * @throws IOException If the replay doesn't exist or isn't a finished replay
+     */
+    public ReplayPlayback openPlayback(String replayId, Collection<? extends Player> viewers) throws IOException {
+        if (!REPLAY_ID.matcher(replayId).matches()) {
+            throw new IOException("Invalid replay id " + replayId);
+        }
+        prune();
+
+        final ReplayPlayback playback = new ReplayPlayback(new ReplayReader(getReplayPath(replayId)), logger);
+        playbacks.add(playback);
+        for (Player viewer : viewers) {
+            stopWatching(viewer);
+            watching.put(viewer, playback);
+            playback.addViewer(viewer);
+        }
+        return playback;
+    }
+
+    /**
+     * @return the playback a player is watching, or null if they aren't watching one that is still running
+     */
+    public ReplayPlayback getPlayback(Player player) {
+        final ReplayPlayback playback = watching.get(player);
+        if (playback != null && playback.isFinished()) {
+            watching.remove(player, playback);
+            return null;
+        }
+        return playback;
+    }
+
+    /**
+     * Take a player out of the playback they are watching, closing it if they were the last viewer
+     * @return whether they were watching one
+     */
+    public boolean stopWatching(Player player) {
+        final ReplayPlayback playback = watching.remove(player);
+        if (playback == null) {
+            return false;
+        }
+
+        playback.removeViewer(player);
+        if (playback.getViewers().isEmpty()) {
+            playback.close();
+            playbacks.remove(playback);
+        }
+        return true;
+    }
+
+    /**
+     * @return the ids of every finished replay, newest first
+     */
+    public List<String> listReplays() throws IOException {
+        try (Stream<Path> paths = Files.list(folder)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparing(ReplayService::lastModified).reversed())
+                    .map(path -> {
+                        final String name = path.getFileName().toString();
+                        return name.substring(0, name.length() - EXTENSION.length());
+                    })
+                    .toList();
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Forget playbacks that reached their end, they have already closed themselves
+     */
+    private void prune() {
+        playbacks.removeIf(ReplayPlayback::isFinished);
+        watching.values().removeIf(ReplayPlayback::isFinished);
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        stopWatching(event.getPlayer());
+    }
+
+    /**
+     * @return the file a replay is (or will be) stored in
+     */
+    public Path getReplayPath(String replayId) {
+        return folder.resolve(replayId + EXTENSION);
+    }
+
+    private void encodeLoop() {
+        while (running || !recorders.isEmpty()) {
+            for (ReplayRecorder recorder : recorders) {
+                if (recorder.drain()) {
+                    recorders.remove(recorder);
+                }
+            }
+
+            if (recorders.isEmpty()) {
+                // woken by startRecording or close, an unpark that lands before this keeps the permit
+                LockSupport.park(this);
+            } else {
+                LockSupport.parkNanos(PASS_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Stop every playback and recorder and wait for the recorders' files to be finished
+     */
+    @Override
+    public void close() {
+        HandlerList.unregisterAll(this);
+        playbacks.forEach(ReplayPlayback::close);
+        playbacks.clear();
+        watching.clear();
+
+        recorders.forEach(ReplayRecorder::stop);
+        running = false;
+        LockSupport.unpark(encoderThread);
+        try {
+            encoderThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
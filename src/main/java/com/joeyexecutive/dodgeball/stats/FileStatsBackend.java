@@ -0,0 +1,113 @@
+package com.joeyexecutive.dodgeball.stats;
+
+import com.joeyexecutive.dodgeball.util.GsonHelper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Embedded {@link StatsBackend} storing one small JSON file per player, sharded into sub folders by the first
+ * two characters of the uuid. Needs no external service, so it works on any box out of the box
+ */
+public class FileStatsBackend implements StatsBackend {
+
+    private final Path folder;
+
+    public FileStatsBackend(Path folder) throws IOException {
+        this.folder = Files.createDirectories(folder);
+    }
+
+    @Override
+    public Map<UUID, PlayerStats> load(Collection<UUID> uuids) throws IOException {
+        final Map<UUID, PlayerStats> loaded = new HashMap<>();
+        for (UUID uuid : uuids) {
+            final PlayerStats stats = read(uuid);
+            if (stats != null) {
+                loaded.put(uuid, stats);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Every player's new stats are written to a temp file before any of them is moved over its stored file, so
+     * a failed read or write leaves the batch untouched. Only a failing move can leave part of it stored, which
+     * is reported through a {@link PartialApplyException}
+     */
+    @Override
+    public Map<UUID, PlayerStats> apply(Map<UUID, StatsDelta> deltas) throws IOException {
+        final Map<UUID, PlayerStats> updated = new HashMap<>();
+        final Map<UUID, Path> staged = new HashMap<>();
+        try {
+            for (Map.Entry<UUID, StatsDelta> entry : deltas.entrySet()) {
+                PlayerStats stats = read(entry.getKey());
+                if (stats == null) {
+                    stats = PlayerStats.empty(entry.getKey());
+                }
+
+                stats = stats.apply(entry.getValue());
+                staged.put(entry.getKey(), stage(stats));
+                updated.put(entry.getKey(), stats);
+            }
+        } catch (IOException | RuntimeException e) {
+            discard(staged.values());
+            throw e;
+        }
+
+        final Map<UUID, PlayerStats> applied = new HashMap<>();
+        for (Map.Entry<UUID, Path> entry : staged.entrySet()) {
+            try {
+                Files.move(entry.getValue(), resolve(entry.getKey()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                staged.keySet().removeAll(applied.keySet());
+                discard(staged.values());
+                throw new PartialApplyException(applied, e);
+            }
+            applied.put(entry.getKey(), updated.get(entry.getKey()));
+        }
+        return updated;
+    }
+
+    private PlayerStats read(UUID uuid) throws IOException {
+        final Path path = resolve(uuid);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        return GsonHelper.gson().fromJson(Files.readString(path), PlayerStats.class);
+    }
+
+    /**
+     * Write a player's stats next to their stored file, ready to be moved over it
+     * @return The temp file
+     */
+    private Path stage(PlayerStats stats) throws IOException {
+        final Path path = resolve(stats.getUuid());
+        Files.createDirectories(path.getParent());
+
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(temp, GsonHelper.gson().toJson(stats));
+        return temp;
+    }
+
+    private static void discard(Collection<Path> temps) {
+        for (Path temp : temps) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // overwritten by the next attempt
+            }
+        }
+    }
+
+    private Path resolve(UUID uuid) {
+        final String name = uuid.toString();
+        return folder.resolve(name.substring(0, 2)).resolve(name + ".json");
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.joeyexecutive.dodgeball.stats;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Gson object holding a snapshot of a player's persisted stats
+ */
+@Getter
+@RequiredArgsConstructor
+public class PlayerStats {
+
+    /**
+     * The rating every player starts with
+     */
+    public static final double DEFAULT_ELO = 1000.0D;
+
+    private final UUID uuid;
+
+    private final int kills;
+
+    private final int throwsMade;
+
+    private final int catches;
+
+    private final int wins;
+
+    private final int losses;
+
+    private final double elo;
+
+    /**
+     * @return stats for a player that has never played
+     */
+    public static PlayerStats empty(UUID uuid) {
+        return new PlayerStats(uuid, 0, 0, 0, 0, 0, DEFAULT_ELO);
+    }
+
+    /**
+     * @return a new snapshot with the delta applied
+     */
+    public PlayerStats apply(StatsDelta delta) {
+        return new PlayerStats(
+                uuid,
+                kills + delta.getKills(),
+                throwsMade + delta.getThrowsMade(),
+                catches + delta.getCatches(),
+                wins + delta.getWins(),
+                losses + delta.getLosses(),
+                elo + delta.getEloChange()
+        );
+    }
+
+}
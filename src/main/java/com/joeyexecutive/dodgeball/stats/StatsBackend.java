@@ -0,0 +1,53 @@
+package com.joeyexecutive.dodgeball.stats;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Somewhere player stats are persisted. Only ever called from the stats writer thread
+ */
+public interface StatsBackend extends AutoCloseable {
+
+    /**
+     * Load the stats of the provided players, players without stored stats are left out
+     * @param uuids The players to load
+     * @return A map of player to their stored stats
+     */
+    Map<UUID, PlayerStats> load(Collection<UUID> uuids) throws IOException;
+
+    /**
+     * Apply a batch of deltas on top of the stored stats. If it throws none of the deltas were applied,
+     * unless it throws a {@link PartialApplyException} naming the ones that were
+     * @param deltas A map of player to the changes to apply to them
+     * @return The stats of every player in the batch after the deltas were applied
+     */
+    Map<UUID, PlayerStats> apply(Map<UUID, StatsDelta> deltas) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * Thrown when part of a batch was stored before the write failed, so only the rest may be retried
+     */
+    class PartialApplyException extends IOException {
+
+        private final Map<UUID, PlayerStats> applied;
+
+        public PartialApplyException(Map<UUID, PlayerStats> applied, IOException cause) {
+            super("Stored " + applied.size() + " players before failing", cause);
+            this.applied = applied;
+        }
+
+        /**
+         * @return the stats of every player whose delta was stored
+         */
+        public Map<UUID, PlayerStats> getApplied() {
+            return applied;
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.joeyexecutive.dodgeball.stats;
+
+import lombok.Getter;
+
+/**
+ * Changes to a player's stats that have not been written to the backend yet. Repeated updates to the same
+ * player are merged into a single delta so the backend only sees one write per player per flush
+ */
+@Getter
+public class StatsDelta {
+
+    private int kills;
+
+    private int throwsMade;
+
+    private int catches;
+
+    private int wins;
+
+    private int losses;
+
+    private double eloChange;
+
+    StatsDelta addKills(int amount) {
+        kills += amount;
+        return this;
+    }
+
+    StatsDelta addThrows(int amount) {
+        throwsMade += amount;
+        return this;
+    }
+
+    StatsDelta addCatches(int amount) {
+        catches += amount;
+        return this;
+    }
+
+    StatsDelta addWins(int amount) {
+        wins += amount;
+        return this;
+    }
+
+    StatsDelta addLosses(int amount) {
+        losses += amount;
+        return this;
+    }
+
+    StatsDelta addElo(double amount) {
+        eloChange += amount;
+        return this;
+    }
+
+    /**
+     * Add every change of the other delta onto this one
+     * @param other The delta to merge in
+     * @return This delta
+     */
+    StatsDelta merge(StatsDelta other) {
+        kills += other.kills;
+        throwsMade += other.throwsMade;
+        catches += other.catches;
+        wins += other.wins;
+        losses += other.losses;
+        eloChange += other.eloChange;
+        return this;
+    }
+
+}
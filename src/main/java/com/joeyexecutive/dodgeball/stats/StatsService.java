@@ -0,0 +1,313 @@
+package com.joeyexecutive.dodgeball.stats;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind player stats. Updates only touch in-memory deltas (one per player, so repeated updates
+ * coalesce) and a single background writer flushes them to the {@link StatsBackend} in batches, either on a
+ * fixed interval or as soon as too many players have pending changes. The number of players with pending
+ * changes is capped, past the cap changes for new players are dropped with a warning so a backend outage
+ * can't grow memory without bound. Closing performs a final flush
+ */
+public class StatsService implements Closeable {
+
+    /**
+     * How much a single match can move a rating
+     */
+    private static final double ELO_K_FACTOR = 32.0D;
+
+    private final StatsBackend backend;
+
+    private final Logger logger;
+
+    private final int maxPendingPlayers;
+
+    private final int maxQueuedPlayers;
+
+    private final int batchSize;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "Dodgeball Stats Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Player -> changes not yet written to the backend
+     */
+    private final Map<UUID, StatsDelta> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Player -> last rating we read from or wrote to the backend
+     */
+    private final Map<UUID, Double> ratings = new ConcurrentHashMap<>();
+
+    private final List<Consumer<Map<UUID, PlayerStats>>> flushListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * Changes dropped because the cap was reached, since the server started
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Whether dropping has been warned about since the last successful write, so an outage logs once
+     */
+    private final AtomicBoolean droppingWarned = new AtomicBoolean();
+
+    /**
+     * @param backend Where stats are persisted
+     * @param logger Logger to report flush failures to
+     * @param flushIntervalSeconds How often pending changes are flushed
+     * @param maxPendingPlayers How many players may have pending changes before a flush is forced early
+     * @param maxQueuedPlayers How many players may have pending changes at most, changes for further players
+     *                         are dropped
+     * @param batchSize How many players are written to the backend per batch
+     */
+    public StatsService(StatsBackend backend, Logger logger, int flushIntervalSeconds, int maxPendingPlayers,
+                        int maxQueuedPlayers, int batchSize) {
+        this.backend = backend;
+        this.logger = logger;
+        this.maxPendingPlayers = Math.max(1, maxPendingPlayers);
+        this.maxQueuedPlayers = Math.max(this.maxPendingPlayers, maxQueuedPlayers);
+        this.batchSize = Math.max(1, batchSize);
+
+        final long interval = Math.max(1, flushIntervalSeconds);
+        writer.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public void recordKill(UUID uuid) {
+        update(uuid, delta -> delta.addKills(1));
+    }
+
+    public void recordThrow(UUID uuid) {
+        update(uuid, delta -> delta.addThrows(1));
+    }
+
+    public void recordCatch(UUID uuid) {
+        update(uuid, delta -> delta.addCatches(1));
+    }
+
+    /**
+     * Record the result of a match, adding a win or loss to everyone and moving ratings by the usual Elo
+     * formula using each team's average rating
+     * @param winners The players on the winning team
+     * @param losers The players on the losing team
+     */
+    public void recordMatch(Collection<UUID> winners, Collection<UUID> losers) {
+        final double expected = 1.0D / (1.0D + Math.pow(10.0D, (averageRating(losers) - averageRating(winners)) / 400.0D));
+        final double change = ELO_K_FACTOR * (1.0D - expected);
+
+        winners.forEach(uuid -> update(uuid, delta -> delta.addWins(1).addElo(change)));
+        losers.forEach(uuid -> update(uuid, delta -> delta.addLosses(1).addElo(-change)));
+    }
+
+    /**
+     * Get a player's rating including changes that have not been flushed yet. Players that were never
+     * {@link #preload(Collection) preloaded} are assumed to be on the default rating
+     * @param uuid The player
+     * @return Their rating
+     */
+    public double getRating(UUID uuid) {
+        final StatsDelta delta = pending.get(uuid);
+        return ratings.getOrDefault(uuid, PlayerStats.DEFAULT_ELO) + (delta == null ? 0 : delta.getEloChange());
+    }
+
+    /**
+     * Read the stored ratings of the players on the writer thread, so ratings are right by the time a
+     * match they are in ends
+     * @param uuids The players to load
+     */
+    public void preload(Collection<UUID> uuids) {
+        final List<UUID> copy = new ArrayList<>(uuids);
+        writer.execute(() -> {
+            try {
+                backend.load(copy).forEach((uuid, stats) -> ratings.put(uuid, stats.getElo()));
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Failed to preload stats", e);
+            }
+        });
+    }
+
+    /**
+     * Register a listener called on the writer thread with the updated stats after every flushed batch
+     */
+    public void addFlushListener(Consumer<Map<UUID, PlayerStats>> listener) {
+        flushListeners.add(listener);
+    }
+
+    /**
+     * @return how many players currently have changes waiting to be flushed
+     */
+    public int getPendingPlayers() {
+        return pending.size();
+    }
+
+    /**
+     * @return how many changes were dropped because too many players had pending changes
+     */
+    public long getDroppedChanges() {
+        return dropped.get();
+    }
+
+    private void update(UUID uuid, Consumer<StatsDelta> change) {
+        // players already pending coalesce into their delta, only new players grow the map
+        if (pending.size() >= maxQueuedPlayers && !pending.containsKey(uuid)) {
+            drop(1);
+            return;
+        }
+
+        pending.compute(uuid, (key, delta) -> {
+            final StatsDelta result = delta == null ? new StatsDelta() : delta;
+            change.accept(result);
+            return result;
+        });
+
+        if (pending.size() >= maxPendingPlayers && flushRequested.compareAndSet(false, true)) {
+            writer.execute(this::flush);
+        }
+    }
+
+    private void drop(int changes) {
+        dropped.addAndGet(changes);
+        if (droppingWarned.compareAndSet(false, true)) {
+            logger.warning("Over " + maxQueuedPlayers + " players have unwritten stats, dropping changes for"
+                    + " further players until the backend catches up");
+        }
+    }
+
+    private double averageRating(Collection<UUID> uuids) {
+        if (uuids.isEmpty()) {
+            return PlayerStats.DEFAULT_ELO;
+        }
+
+        double total = 0;
+        for (UUID uuid : uuids) {
+            total += getRating(uuid);
+        }
+        return total / uuids.size();
+    }
+
+    /**
+     * Write every pending delta to the backend in batches. Deltas of a batch that fails are merged back into
+     * pending so nothing is lost, apart from those the backend reports it already stored
+     */
+    private void flush() {
+        flushRequested.set(false);
+
+        final Map<UUID, StatsDelta> batch = new HashMap<>();
+        for (UUID uuid : new ArrayList<>(pending.keySet())) {
+            final StatsDelta delta = pending.remove(uuid);
+            if (delta != null) {
+                batch.put(uuid, delta);
+            }
+
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(Map<UUID, StatsDelta> batch) {
+        final Map<UUID, PlayerStats> updated;
+        try {
+            updated = backend.apply(batch);
+        } catch (StatsBackend.PartialApplyException e) {
+            final Map<UUID, PlayerStats> applied = e.getApplied();
+            logger.log(Level.WARNING, "Failed to flush stats for " + (batch.size() - applied.size()) + " of "
+                    + batch.size() + " players, retrying later", e);
+            // the stored ones are already counted, retrying them would count them twice
+            batch.keySet().removeAll(applied.keySet());
+            requeue(batch);
+            publish(applied);
+            return;
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed to flush stats for " + batch.size() + " players, retrying later", e);
+            requeue(batch);
+            return;
+        }
+
+        if (droppingWarned.compareAndSet(true, false)) {
+            logger.info("Stats backend caught up, " + dropped.get() + " stats changes were dropped so far");
+        }
+        publish(updated);
+    }
+
+    /**
+     * Merge the deltas of a failed write back into pending, within the queue cap
+     */
+    private void requeue(Map<UUID, StatsDelta> batch) {
+        batch.forEach((uuid, delta) -> {
+            if (pending.size() >= maxQueuedPlayers && !pending.containsKey(uuid)) {
+                drop(1);
+                return;
+            }
+            pending.merge(uuid, delta, StatsDelta::merge);
+        });
+    }
+
+    /**
+     * Hand freshly stored stats to the rating cache and the flush listeners
+     */
+    private void publish(Map<UUID, PlayerStats> updated) {
+        updated.forEach((uuid, stats) -> ratings.put(uuid, stats.getElo()));
+        for (Consumer<Map<UUID, PlayerStats>> listener : flushListeners) {
+            try {
+                listener.accept(updated);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Stats flush listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Stop the writer and flush everything still pending on the calling thread
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        flush();
+
+        if (!pending.isEmpty()) {
+            logger.severe("Lost stats for " + pending.size() + " players on shutdown");
+        }
+
+        try {
+            backend.close();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Failed to close stats backend", e);
+        }
+    }
+
+}
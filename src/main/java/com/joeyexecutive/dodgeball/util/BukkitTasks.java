@@ -1,22 +1,33 @@
 package com.joeyexecutive.dodgeball.util;
 
+import com.joeyexecutive.dodgeball.profiling.Subsystem;
+import com.joeyexecutive.dodgeball.profiling.TickProfiler;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 /**
- * Utils for scheduling bukkit tasks
+ * Utils for scheduling bukkit tasks. Sync tasks are timed by the {@link TickProfiler}, under
+ * {@link Subsystem#TASKS} unless the caller says otherwise
  */
 public final class BukkitTasks {
 
     private static Plugin plugin;
 
-    public static void init(Plugin suppliedPlugin) {
+    private static TickProfiler profiler;
+
+    public static void init(Plugin suppliedPlugin, TickProfiler suppliedProfiler) {
         plugin = suppliedPlugin;
+        profiler = suppliedProfiler;
+    }
+
+    private static Runnable profiled(Subsystem subsystem, Runnable runnable) {
+        return profiler == null ? runnable : profiler.wrap(subsystem, runnable);
     }
 
     private BukkitTasks() {}
@@ -56,10 +67,12 @@ public final class BukkitTasks {
     public static BukkitTask secondsCountdown(Plugin plugin, int start, long delay, Consumer<Integer> consumer) {
         final AtomicInteger secondsLeft = new AtomicInteger(start);
         return new BukkitRunnable() {
+            private final Runnable tick = profiled(Subsystem.COUNTDOWN, () -> consumer.accept(secondsLeft.getAndDecrement()));
+
             @Override
             public void run() {
                 try {
-                    consumer.accept(secondsLeft.getAndDecrement());
+                    tick.run();
                 } finally {
                     if (secondsLeft.get() == -1) {
                         cancel();
@@ -85,7 +98,17 @@ public final class BukkitTasks {
      * @return The created {@link BukkitTask}
      */
     public static BukkitTask sync(Plugin plugin, Runnable runnable) {
-        return Bukkit.getScheduler().runTask(plugin, runnable);
+        return Bukkit.getScheduler().runTask(plugin, profiled(Subsystem.TASKS, runnable));
+    }
+
+    /**
+     * Run a sync task
+     * @param subsystem What the profiler charges the task's time to
+     * @param runnable What to run
+     * @return The created {@link BukkitTask}
+     */
+    public static BukkitTask sync(Subsystem subsystem, Runnable runnable) {
+        return Bukkit.getScheduler().runTask(plugin, profiled(subsystem, runnable));
     }
 
     /**
@@ -129,7 +152,41 @@ public final class BukkitTasks {
      * @return The created {@link BukkitTask}
      */
     public static BukkitTask syncTimer(Plugin plugin, long wait, long period, Runnable runnable) {
-        return Bukkit.getScheduler().runTaskTimer(plugin, runnable, wait, period);
+        return Bukkit.getScheduler().runTaskTimer(plugin, profiled(Subsystem.TASKS, runnable), wait, period);
+    }
+
+    /**
+     * Run a sync task on a timer with a 0L wait
+     * @param subsystem What the profiler charges the task's time to
+     * @param period The time between executions
+     * @param runnable What to run
+     * @return The created {@link BukkitTask}
+     */
+    public static BukkitTask syncTimer(Subsystem subsystem, long period, Runnable runnable) {
+        return Bukkit.getScheduler().runTaskTimer(plugin, profiled(subsystem, runnable), 0L, period);
+    }
+
+    /**
+     * Run a sync task every period, starting now, for as long as it returns true
+     * @param subsystem What the profiler charges the task's time to
+     * @param period The time between executions
+     * @param tick What to run, returns whether to keep running
+     * @return The created {@link BukkitTask}
+     */
+    public static BukkitTask syncTimerWhile(Subsystem subsystem, long period, BooleanSupplier tick) {
+        return new BukkitRunnable() {
+            private boolean running = true;
+
+            private final Runnable profiledTick = profiled(subsystem, () -> running = tick.getAsBoolean());
+
+            @Override
+            public void run() {
+                profiledTick.run();
+                if (!running) {
+                    cancel();
+                }
+            }
+        }.runTaskTimer(plugin, 0L, period);
     }
 
     /**
@@ -150,7 +207,18 @@ public final class BukkitTasks {
      * @return The created {@link BukkitTask}
      */
     public static BukkitTask syncLater(Plugin plugin, long wait, Runnable runnable) {
-        return Bukkit.getScheduler().runTaskLater(plugin, runnable, wait);
+        return Bukkit.getScheduler().runTaskLater(plugin, profiled(Subsystem.TASKS, runnable), wait);
+    }
+
+    /**
+     * Run a sync task later
+     * @param subsystem What the profiler charges the task's time to
+     * @param wait How long to wait before execution
+     * @param runnable What to run
+     * @return The created {@link BukkitTask}
+     */
+    public static BukkitTask syncLater(Subsystem subsystem, long wait, Runnable runnable) {
+        return Bukkit.getScheduler().runTaskLater(plugin, profiled(subsystem, runnable), wait);
     }
 
     /**
@@ -1,52 +1,185 @@
 package com.joeyexecutive.dodgeball.util;
 
-import com.google.common.collect.Maps;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.joeyexecutive.dodgeball.adapter.ArenaBoundsAdapter;
 import com.joeyexecutive.dodgeball.adapter.BukkitLocationAdapter;
+import com.joeyexecutive.dodgeball.adapter.ImmutableListAdapterFactory;
+import com.joeyexecutive.dodgeball.adapter.ImmutableMapAdapterFactory;
+import com.joeyexecutive.dodgeball.adapter.PositionAdapter;
+import com.joeyexecutive.dodgeball.adapter.SpawnListAdapter;
+import com.joeyexecutive.dodgeball.config.ArenaBounds;
+import com.joeyexecutive.dodgeball.config.Position;
+import com.joeyexecutive.dodgeball.config.SpawnList;
 import org.bukkit.Location;
 
 import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Util for Gson serialization/deserialization
+ * Util for Gson serialization/deserialization. The registered adapters are held in an immutable,
+ * copy-on-write registry and each registry version builds its Gson instances once, so everything here is
+ * safe to call from any thread
  */
 public final class GsonHelper {
 
-    public static final Map<Type, Object> ADAPTERS = Maps.newHashMap(Map.of(
-            Location.class, new BukkitLocationAdapter()
-    ));
+    private static final AtomicReference<Registry> REGISTRY = new AtomicReference<>(new Registry(0L, Map.of(
+            Location.class, new BukkitLocationAdapter(),
+            SpawnList.class, new SpawnListAdapter(),
+            Position.class, new PositionAdapter(),
+            ArenaBounds.class, new ArenaBoundsAdapter()
+    )));
 
-    public static Gson GSON = createGson();
+    /**
+     * @deprecated use {@link #getAdapters()} to read and {@link #registerLateAdapter(Type, Object)} to add,
+     * kept for plugins built against the old mutable map. Writes through to the registry
+     */
+    @Deprecated
+    public static final Map<Type, Object> ADAPTERS = new AdapterView();
 
-    public static Gson PRETTY_GSON = createPrettyGson();
+    /**
+     * @deprecated use {@link #gson()}, kept for plugins built against the old field. Refreshed whenever an
+     * adapter is registered, assigning it has no effect on the registry
+     */
+    @Deprecated
+    public static volatile Gson GSON = gson();
+
+    /**
+     * @deprecated use {@link #prettyGson()}, kept for plugins built against the old field. Refreshed whenever
+     * an adapter is registered, assigning it has no effect on the registry
+     */
+    @Deprecated
+    public static volatile Gson PRETTY_GSON = prettyGson();
+
+    private GsonHelper() {}
+
+    /**
+     * @return the compact {@link Gson} instance for the current set of adapters
+     */
+    public static Gson gson() {
+        return REGISTRY.get().gson();
+    }
+
+    /**
+     * @return the pretty printing {@link Gson} instance for the current set of adapters
+     */
+    public static Gson prettyGson() {
+        return REGISTRY.get().prettyGson();
+    }
+
+    /**
+     * @return an immutable view of every registered adapter
+     */
+    public static Map<Type, Object> getAdapters() {
+        return REGISTRY.get().adapters;
+    }
+
+    /**
+     * @return the version of the adapter registry, incremented every time an adapter is registered
+     */
+    public static long getRegistryVersion() {
+        return REGISTRY.get().version;
+    }
 
     /**
      * Used for if you need to register an adapter later on in runtime
      * Usually accessed by another plugin
      */
     public static void registerLateAdapter(Type type, Object object) {
-        ADAPTERS.put(type, object);
-        GSON = createGson();
-        PRETTY_GSON = createPrettyGson();
+        REGISTRY.updateAndGet(registry -> registry.with(type, object));
+        GSON = gson();
+        PRETTY_GSON = prettyGson();
     }
 
-    private static GsonBuilder baseBuilder() {
-        final GsonBuilder gsonBuilder = new GsonBuilder();
-        gsonBuilder.disableHtmlEscaping();
-        for (Map.Entry<Type, Object> entry : ADAPTERS.entrySet()) {
-            gsonBuilder.registerTypeAdapter(entry.getKey(), entry.getValue());
+    /**
+     * Map view of the current registry backing the deprecated {@link #ADAPTERS}
+     */
+    private static final class AdapterView extends AbstractMap<Type, Object> {
+
+        @Override
+        public Set<Entry<Type, Object>> entrySet() {
+            return getAdapters().entrySet();
+        }
+
+        @Override
+        public Object get(Object key) {
+            return getAdapters().get(key);
+        }
+
+        @Override
+        public Object put(Type key, Object value) {
+            final Object previous = getAdapters().get(key);
+            registerLateAdapter(key, value);
+            return previous;
         }
-        return gsonBuilder;
-    }
 
-    private static Gson createGson() {
-        return baseBuilder().create();
     }
 
-    private static Gson createPrettyGson() {
-        return baseBuilder().setPrettyPrinting().create();
+    /**
+     * An immutable set of adapters, building its Gson instances the first time they are needed
+     */
+    private static final class Registry {
+
+        private final long version;
+
+        private final Map<Type, Object> adapters;
+
+        private volatile Gson gson;
+
+        private volatile Gson prettyGson;
+
+        private Registry(long version, Map<Type, Object> adapters) {
+            this.version = version;
+            this.adapters = adapters;
+        }
+
+        private Registry with(Type type, Object adapter) {
+            final Map<Type, Object> copy = new LinkedHashMap<>(adapters);
+            copy.put(type, adapter);
+            return new Registry(version + 1, Map.copyOf(copy));
+        }
+
+        private Gson gson() {
+            Gson result = gson;
+            if (result == null) {
+                synchronized (this) {
+                    result = gson;
+                    if (result == null) {
+                        gson = result = baseBuilder().create();
+                    }
+                }
+            }
+            return result;
+        }
+
+        private Gson prettyGson() {
+            Gson result = prettyGson;
+            if (result == null) {
+                synchronized (this) {
+                    result = prettyGson;
+                    if (result == null) {
+                        prettyGson = result = baseBuilder().setPrettyPrinting().create();
+                    }
+                }
+            }
+            return result;
+        }
+
+        private GsonBuilder baseBuilder() {
+            final GsonBuilder gsonBuilder = new GsonBuilder();
+            gsonBuilder.disableHtmlEscaping();
+            gsonBuilder.registerTypeAdapterFactory(new ImmutableListAdapterFactory());
+            gsonBuilder.registerTypeAdapterFactory(new ImmutableMapAdapterFactory());
+            for (Map.Entry<Type, Object> entry : adapters.entrySet()) {
+                gsonBuilder.registerTypeAdapter(entry.getKey(), entry.getValue());
+            }
+            return gsonBuilder;
+        }
+
     }
 
-}
\ No newline at end of file
+}
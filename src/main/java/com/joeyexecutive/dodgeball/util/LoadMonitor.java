@@ -0,0 +1,95 @@
+package com.joeyexecutive.dodgeball.util;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+/**
+ * Watches how long ticks take and turns it into a quality between 1 (healthy) and 0 (overloaded) that
+ * non-critical output scales its update rate by. Tick times are smoothed so the quality moves gradually
+ * instead of jumping on a single slow tick
+ */
+public class LoadMonitor implements Listener {
+
+    /**
+     * Weight of the newest tick in the smoothed tick time, roughly a one second window
+     */
+    private static final double SMOOTHING = 0.05D;
+
+    private final double goodMspt;
+
+    private final double badMspt;
+
+    private final double goodTps;
+
+    private final double badTps;
+
+    private volatile double smoothedMspt = 0;
+
+    private volatile double tps = 20.0D;
+
+    private volatile double quality = 1.0D;
+
+    /**
+     * @param goodMspt Tick times at or below this are full quality
+     * @param badMspt Tick times at or above this are the lowest quality
+     * @param goodTps TPS at or above this is full quality
+     * @param badTps TPS at or below this is the lowest quality
+     */
+    public LoadMonitor(double goodMspt, double badMspt, double goodTps, double badTps) {
+        this.goodMspt = goodMspt;
+        this.badMspt = Math.max(goodMspt + 1, badMspt);
+        this.goodTps = goodTps;
+        this.badTps = Math.min(goodTps - 0.1D, badTps);
+    }
+
+    @EventHandler
+    public void onTickEnd(ServerTickEndEvent event) {
+        smoothedMspt += (event.getTickDuration() - smoothedMspt) * SMOOTHING;
+
+        if (event.getTickNumber() % 20 == 0) {
+            tps = Bukkit.getTPS()[0];
+        }
+
+        final double msptQuality = 1.0D - clamp((smoothedMspt - goodMspt) / (badMspt - goodMspt));
+        final double tpsQuality = clamp((tps - badTps) / (goodTps - badTps));
+        quality = Math.min(msptQuality, tpsQuality);
+    }
+
+    /**
+     * @return the current quality, 1 when the server is healthy and 0 when it is overloaded
+     */
+    public double getQuality() {
+        return quality;
+    }
+
+    /**
+     * @return the smoothed time a tick takes in milliseconds
+     */
+    public double getSmoothedMspt() {
+        return smoothedMspt;
+    }
+
+    public double getTps() {
+        return tps;
+    }
+
+    /**
+     * Stretch an update interval by the current load
+     * @param interval The interval used on a healthy server
+     * @param floorInterval The interval used on an overloaded server, the lowest rate we are willing to drop to
+     * @return An interval between the two
+     */
+    public int scaleInterval(int interval, int floorInterval) {
+        if (floorInterval <= interval) {
+            return interval;
+        }
+        return interval + (int) Math.round((1.0D - quality) * (floorInterval - interval));
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0.0D, Math.min(1.0D, value));
+    }
+
+}
@@ -1,30 +1,76 @@
 package com.joeyexecutive.dodgeball.util;
 
+import com.joeyexecutive.dodgeball.profiling.MainThreadWaitEvent;
+import com.joeyexecutive.dodgeball.profiling.Subsystem;
 import org.bukkit.Bukkit;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 
 /**
- * Executor which runs tasks on the Bukkit main thread, used in our CompleteableFutures
+ * Executor which runs tasks on the Bukkit main thread, used in our CompleteableFutures. The profiler charges
+ * the tasks to the executor's {@link Subsystem}, use {@link #of(Subsystem)} to pick one.
+ * <p>
+ * By default the submitting thread waits until the task has run. Pools whose threads should be free again as
+ * soon as they have handed their work over use {@link #handoff(Subsystem)} instead
  */
 public final class MainThreadExecutor implements Executor {
 
-    public static final MainThreadExecutor MAIN_THREAD_EXECUTOR = new MainThreadExecutor();
+    /**
+     * Charges its tasks to {@link Subsystem#TASKS}
+     */
+    public static final MainThreadExecutor MAIN_THREAD_EXECUTOR = new MainThreadExecutor(Subsystem.TASKS, 0, true);
 
-    private final int tickDelay;
+    private static final Map<Subsystem, MainThreadExecutor> BY_SUBSYSTEM = new EnumMap<>(Subsystem.class);
+
+    private static final Map<Subsystem, MainThreadExecutor> HANDOFF_BY_SUBSYSTEM = new EnumMap<>(Subsystem.class);
 
-    private MainThreadExecutor() {
-        this.tickDelay = 0;
+    static {
+        for (Subsystem subsystem : Subsystem.values()) {
+            BY_SUBSYSTEM.put(subsystem, subsystem == Subsystem.TASKS ? MAIN_THREAD_EXECUTOR : new MainThreadExecutor(subsystem, 0, true));
+            HANDOFF_BY_SUBSYSTEM.put(subsystem, new MainThreadExecutor(subsystem, 0, false));
+        }
     }
 
-    private MainThreadExecutor(int tickDelay) {
+    private final Subsystem subsystem;
+
+    private final int tickDelay;
+
+    /**
+     * Whether the submitting thread waits for the task to have run
+     */
+    private final boolean blocking;
+
+    private MainThreadExecutor(Subsystem subsystem, int tickDelay, boolean blocking) {
+        this.subsystem = subsystem;
         this.tickDelay = tickDelay;
+        this.blocking = blocking;
+    }
+
+    /**
+     * @return the executor charging its tasks to a subsystem
+     */
+    public static MainThreadExecutor of(Subsystem subsystem) {
+        return BY_SUBSYSTEM.get(subsystem);
+    }
+
+    /**
+     * @return the executor charging its tasks to a subsystem which only schedules them and returns, so the
+     * submitting thread never waits on the main thread
+     */
+    public static MainThreadExecutor handoff(Subsystem subsystem) {
+        return HANDOFF_BY_SUBSYSTEM.get(subsystem);
     }
 
     public static MainThreadExecutor newDelayedExecutor(int tickDelay) {
-        return new MainThreadExecutor(tickDelay);
+        return newDelayedExecutor(Subsystem.TASKS, tickDelay);
+    }
+
+    public static MainThreadExecutor newDelayedExecutor(Subsystem subsystem, int tickDelay) {
+        return new MainThreadExecutor(subsystem, tickDelay, true);
     }
 
     @Override
@@ -34,16 +80,30 @@ public final class MainThreadExecutor implements Executor {
             return;
         }
 
+        if (!blocking) {
+            if (tickDelay == 0) {
+                BukkitTasks.sync(subsystem, runnable);
+            } else {
+                BukkitTasks.syncLater(subsystem, tickDelay, runnable);
+            }
+            return;
+        }
+
+        final MainThreadWaitEvent event = new MainThreadWaitEvent();
+        event.begin();
+        final long submitted = System.nanoTime();
+
         CountDownLatch latch = new CountDownLatch(1);
         Runnable task = () -> {
+            event.queueWait = System.nanoTime() - submitted;
             runnable.run();
             latch.countDown();
         };
 
         if (tickDelay == 0) {
-            BukkitTasks.sync(task);
+            BukkitTasks.sync(subsystem, task);
         } else {
-            BukkitTasks.syncLater(tickDelay, task);
+            BukkitTasks.syncLater(subsystem, tickDelay, task);
         }
 
         try {
@@ -51,5 +111,11 @@ public final class MainThreadExecutor implements Executor {
         } catch (InterruptedException e) {
             e.printStackTrace(); // if this happens, something is very very very very wrong
         }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.tickDelay = tickDelay;
+            event.commit();
+        }
     }
 }
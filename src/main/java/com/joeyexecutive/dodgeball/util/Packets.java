@@ -5,17 +5,23 @@ import com.comphenix.protocol.ProtocolLibrary;
 import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import io.netty.channel.Channel;
+import jdk.jfr.EventType;
+import com.joeyexecutive.dodgeball.profiling.PacketSendEvent;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.md_5.bungee.api.chat.TextComponent;
 import net.md_5.bungee.chat.ComponentSerializer;
+import net.minecraft.network.NetworkManager;
 import net.minecraft.network.protocol.Packet;
 import org.bukkit.Bukkit;
 import org.bukkit.craftbukkit.v1_19_R2.entity.CraftPlayer;
 import org.bukkit.entity.Player;
 
+import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Utility class for sending packets
@@ -27,6 +33,29 @@ public final class Packets {
      */
     public static final ProtocolManager PROTOCOL_MANAGER = ProtocolLibrary.getProtocolManager();
 
+    /**
+     * PlayerConnection -> NetworkManager and NetworkManager -> netty Channel, looked up by type once since
+     * the field names are obfuscated
+     */
+    private static volatile Field networkManagerField;
+
+    private static volatile Field channelField;
+
+    /**
+     * Packets handed to a connection since the server started, a packet sent to ten players counts ten times
+     */
+    private static final LongAdder SENT = new LongAdder();
+
+    /**
+     * Packets addressed to players without a connection since the server started, counted once per recipient
+     */
+    private static final LongAdder UNCONNECTED = new LongAdder();
+
+    /**
+     * Checked before every send so no event is allocated while no recording wants it
+     */
+    private static final EventType SEND_EVENT_TYPE = EventType.getEventType(PacketSendEvent.class);
+
     /**
      * Shortcut for {@link ProtocolManager#createPacket(PacketType)}
      */
@@ -50,14 +79,112 @@ public final class Packets {
     }
 
     /**
-     * Sends the provided packet to every player in the provided collection
+     * Sends the provided packet to every player in the provided collection. Players without a connection, such
+     * as the synthetic players of a load test, are skipped and counted separately
      * @param packet The packet to send
      * @param players The players that will have the packet sent to them
      */
     public static void send(PacketContainer packet, Collection<? extends Player> players) {
+        final PacketSendEvent event = SEND_EVENT_TYPE.isEnabled() ? new PacketSendEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+
+        int written = 0;
         for (Player player : players) {
-            ((CraftPlayer) player).getHandle().b.a((Packet<?>) packet.getHandle());
+            if (player instanceof CraftPlayer) {
+                ((CraftPlayer) player).getHandle().b.a((Packet<?>) packet.getHandle());
+                written++;
+            }
+        }
+        SENT.add(written);
+        if (written != players.size()) {
+            UNCONNECTED.add(players.size() - written);
+        }
+
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.packetType = packet.getType().name();
+                event.recipients = written;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * @return how many packets have been handed to connections so far, counted once per recipient
+     */
+    public static long getSentCount() {
+        return SENT.sum();
+    }
+
+    /**
+     * @return how many packets have been addressed to players without a connection so far, counted once per
+     * recipient
+     */
+    public static long getUnconnectedCount() {
+        return UNCONNECTED.sum();
+    }
+
+    /**
+     * Create a system chat packet
+     * @param message The message
+     * @param actionBar Whether to show it above the hotbar instead of in chat
+     */
+    public static PacketContainer chat(Component message, boolean actionBar) {
+        return chat(convertComponent(message), actionBar);
+    }
+
+    /**
+     * Create a system chat packet from an already serialized message, such as a rendered
+     * {@link com.joeyexecutive.dodgeball.message.MessageTemplate}
+     * @param message The message
+     * @param actionBar Whether to show it above the hotbar instead of in chat
+     */
+    public static PacketContainer chat(WrappedChatComponent message, boolean actionBar) {
+        final PacketContainer packet = create(PacketType.Play.Server.SYSTEM_CHAT);
+        packet.getChatComponents().write(0, message);
+        packet.getBooleans().write(0, actionBar);
+        return packet;
+    }
+
+    /**
+     * Check whether a player's connection can take more packets without queueing them in memory, false once
+     * the client has fallen behind and netty's outbound buffer is past its high water mark
+     * @param player The player
+     * @return Whether the connection is writable, true if it couldn't be checked or there is no connection
+     */
+    public static boolean isWritable(Player player) {
+        if (!(player instanceof CraftPlayer)) {
+            return true;
+        }
+        try {
+            final Object connection = ((CraftPlayer) player).getHandle().b;
+            if (networkManagerField == null) {
+                networkManagerField = findField(connection.getClass(), NetworkManager.class);
+            }
+            final Object networkManager = networkManagerField.get(connection);
+            if (channelField == null) {
+                channelField = findField(NetworkManager.class, Channel.class);
+            }
+            final Channel channel = (Channel) channelField.get(networkManager);
+            return channel == null || channel.isWritable();
+        } catch (ReflectiveOperationException e) {
+            return true;
+        }
+    }
+
+    private static Field findField(Class<?> owner, Class<?> type) throws NoSuchFieldException {
+        for (Class<?> clazz = owner; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (type.isAssignableFrom(field.getType())) {
+                    field.setAccessible(true);
+                    return field;
+                }
+            }
         }
+        throw new NoSuchFieldException(type.getName() + " in " + owner.getName());
     }
 
     public static WrappedChatComponent convertComponent(TextComponent component) {
@@ -0,0 +1,164 @@
+package com.joeyexecutive.dodgeball.util;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility class for building packets of entities that only exist on the client. The server never knows
+ * about them, so they cost nothing to tick and never end up in a world save
+ */
+public final class VirtualEntities {
+
+    /**
+     * Virtual entity ids count down from the top of the int range so they never collide with real entities
+     */
+    private static final AtomicInteger NEXT_ID = new AtomicInteger(Integer.MAX_VALUE);
+
+    private static final int FLAGS_INDEX = 0;
+    private static final int CUSTOM_NAME_INDEX = 2;
+    private static final int CUSTOM_NAME_VISIBLE_INDEX = 3;
+    private static final int NO_GRAVITY_INDEX = 5;
+    private static final int ARMOR_STAND_FLAGS_INDEX = 15;
+
+    private static final byte INVISIBLE_FLAG = 0x20;
+    private static final byte MARKER_FLAG = 0x10;
+    private static final byte ARMS_FLAG = 0x04;
+    private static final byte NO_BASE_PLATE_FLAG = 0x08;
+
+    private VirtualEntities() {}
+
+    /**
+     * @return a new entity id that no real entity will ever use
+     */
+    public static int nextEntityId() {
+        return NEXT_ID.getAndDecrement();
+    }
+
+    /**
+     * Create a spawn packet for a virtual entity
+     */
+    public static PacketContainer spawn(int entityId, EntityType type, double x, double y, double z) {
+        final PacketContainer packet = Packets.create(PacketType.Play.Server.SPAWN_ENTITY);
+        packet.getIntegers().write(0, entityId);
+        packet.getUUIDs().write(0, UUID.randomUUID());
+        packet.getEntityTypeModifier().write(0, type);
+        packet.getDoubles()
+                .write(0, x)
+                .write(1, y)
+                .write(2, z);
+        return packet;
+    }
+
+    /**
+     * Create a teleport packet moving a virtual entity to an absolute position
+     */
+    public static PacketContainer teleport(int entityId, double x, double y, double z, float yaw, float pitch) {
+        final PacketContainer packet = Packets.create(PacketType.Play.Server.ENTITY_TELEPORT);
+        packet.getIntegers().write(0, entityId);
+        packet.getDoubles()
+                .write(0, x)
+                .write(1, y)
+                .write(2, z);
+        packet.getBytes()
+                .write(0, (byte) (int) (yaw * 256.0F / 360.0F))
+                .write(1, (byte) (int) (pitch * 256.0F / 360.0F));
+        packet.getBooleans().write(0, false);
+        return packet;
+    }
+
+    /**
+     * Create a metadata packet turning a virtual armor stand into an invisible, gravity-less floating name
+     * @param entityId The armor stand
+     * @param name The name to show, or null to hide it
+     */
+    public static PacketContainer nameTag(int entityId, Component name) {
+        final PacketContainer packet = Packets.create(PacketType.Play.Server.ENTITY_METADATA);
+        packet.getIntegers().write(0, entityId);
+
+        final List<WrappedDataValue> values = new ArrayList<>();
+        values.add(new WrappedDataValue(FLAGS_INDEX, WrappedDataWatcher.Registry.get(Byte.class), INVISIBLE_FLAG));
+        values.add(new WrappedDataValue(
+                CUSTOM_NAME_INDEX,
+                WrappedDataWatcher.Registry.getChatComponentSerializer(true),
+                name == null
+                        ? Optional.empty()
+                        : Optional.of(Packets.convertComponent(name).getHandle())
+        ));
+        values.add(new WrappedDataValue(CUSTOM_NAME_VISIBLE_INDEX, WrappedDataWatcher.Registry.get(Boolean.class), name != null));
+        values.add(new WrappedDataValue(NO_GRAVITY_INDEX, WrappedDataWatcher.Registry.get(Boolean.class), true));
+        values.add(new WrappedDataValue(ARMOR_STAND_FLAGS_INDEX, WrappedDataWatcher.Registry.get(Byte.class), MARKER_FLAG));
+        packet.getDataValueCollectionModifier().write(0, values);
+        return packet;
+    }
+
+    /**
+     * Create a metadata packet turning a virtual armor stand into a visible, gravity-less stand-in for a player,
+     * with arms, no base plate and their name above it
+     * @param entityId The armor stand
+     * @param name The name to show
+     */
+    public static PacketContainer figure(int entityId, Component name) {
+        final PacketContainer packet = Packets.create(PacketType.Play.Server.ENTITY_METADATA);
+        packet.getIntegers().write(0, entityId);
+
+        final List<WrappedDataValue> values = new ArrayList<>();
+        values.add(new WrappedDataValue(
+                CUSTOM_NAME_INDEX,
+                WrappedDataWatcher.Registry.getChatComponentSerializer(true),
+                Optional.of(Packets.convertComponent(name).getHandle())
+        ));
+        values.add(new WrappedDataValue(CUSTOM_NAME_VISIBLE_INDEX, WrappedDataWatcher.Registry.get(Boolean.class), true));
+        values.add(new WrappedDataValue(NO_GRAVITY_INDEX, WrappedDataWatcher.Registry.get(Boolean.class), true));
+        values.add(new WrappedDataValue(
+                ARMOR_STAND_FLAGS_INDEX,
+                WrappedDataWatcher.Registry.get(Byte.class),
+                (byte) (ARMS_FLAG | NO_BASE_PLATE_FLAG)
+        ));
+        packet.getDataValueCollectionModifier().write(0, values);
+        return packet;
+    }
+
+    /**
+     * Create a metadata packet changing only the floating name of a virtual armor stand already set up by
+     * {@link #nameTag(int, Component)} or {@link #figure(int, Component)}, smaller than resending every flag
+     * @param entityId The armor stand
+     * @param name The name to show, or null to hide it
+     */
+    public static PacketContainer customName(int entityId, Component name) {
+        final PacketContainer packet = Packets.create(PacketType.Play.Server.ENTITY_METADATA);
+        packet.getIntegers().write(0, entityId);
+
+        final List<WrappedDataValue> values = new ArrayList<>();
+        values.add(new WrappedDataValue(
+                CUSTOM_NAME_INDEX,
+                WrappedDataWatcher.Registry.getChatComponentSerializer(true),
+                name == null
+                        ? Optional.empty()
+                        : Optional.of(Packets.convertComponent(name).getHandle())
+        ));
+        values.add(new WrappedDataValue(CUSTOM_NAME_VISIBLE_INDEX, WrappedDataWatcher.Registry.get(Boolean.class), name != null));
+        packet.getDataValueCollectionModifier().write(0, values);
+        return packet;
+    }
+
+    /**
+     * Create a packet removing virtual entities from the client
+     */
+    public static PacketContainer destroy(Collection<Integer> entityIds) {
+        final PacketContainer packet = Packets.create(PacketType.Play.Server.ENTITY_DESTROY);
+        packet.getIntLists().write(0, new ArrayList<>(entityIds));
+        return packet;
+    }
+
+}
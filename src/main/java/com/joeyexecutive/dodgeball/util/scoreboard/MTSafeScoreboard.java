@@ -42,6 +42,14 @@ public class MTSafeScoreboard implements Closeable {
      * Map of team id -> team that only the player should see
      */
     private final Map<Player, Map<String, MTSafeScoreboardTeam>> playerTeams = new ConcurrentHashMap<>();
+    /**
+     * Map of objective id -> objective that only its own group of viewers should see
+     */
+    private final Map<String, MTSafeScoreboardObjective> scopedObjectives = new ConcurrentHashMap<>();
+    /**
+     * Map of team id -> team that only its own group of viewers should see
+     */
+    private final Map<String, MTSafeScoreboardTeam> scopedTeams = new ConcurrentHashMap<>();
 
     /**
      * The plugin instance
@@ -230,6 +238,68 @@ public class MTSafeScoreboard implements Closeable {
         return remove(getPlayerObjectives(player), id);
     }
 
+    /**
+     * Creates a new objective that only the provided group of players should see, such as the players of a
+     * single game. Every viewer is sent the same packets, so this is much cheaper than one player objective
+     * per viewer. More viewers can be subscribed to the returned objective later.
+     * @param id The id of the objective (unique)
+     * @param title The title of the objective
+     * @param displaySlot The display slot that the objective should be in
+     * @param viewers The players that should see the objective
+     * @return The created {@link MTSafeScoreboardObjective} instance, or the already existing one under the id
+     */
+    public MTSafeScoreboardObjective newScopedObjective(String id, Component title, DisplaySlot displaySlot, Collection<Player> viewers) {
+        return newObjective(scopedObjectives, id, title, displaySlot, viewers);
+    }
+
+    /**
+     * Gets a scoped objective by its id
+     * @param id The id of the objective
+     * @return The {@link MTSafeScoreboardObjective} instance, or {@code null} if the objective does not exist
+     */
+    public MTSafeScoreboardObjective getScopedObjective(String id) {
+        return scopedObjectives.get(id);
+    }
+
+    /**
+     * Removes a scoped objective. This method will automatically unsubscribe its viewers from the objective.
+     * @param id The id of the objective
+     * @return Whether the objective was removed
+     */
+    public boolean removeScopedObjective(String id) {
+        return remove(scopedObjectives, id) && scopedObjectives.remove(id) != null;
+    }
+
+    /**
+     * Creates a new team that only the provided group of players should see, such as the players of a
+     * single game. More viewers can be subscribed to the returned team later.
+     * @param id The id of the team (unique)
+     * @param title The title or "display name" of the team (NOT the prefix)
+     * @param viewers The players that should see the team
+     * @return A new {@link MTSafeScoreboardTeam} instance, or the instance that already exists with the provided id
+     */
+    public MTSafeScoreboardTeam newScopedTeam(String id, Component title, Collection<Player> viewers) {
+        return newTeam(scopedTeams, id, title, viewers);
+    }
+
+    /**
+     * Gets a scoped team by its id
+     * @param id The id of the team
+     * @return The {@link MTSafeScoreboardTeam} instance, or {@code null} if the team does not exist
+     */
+    public MTSafeScoreboardTeam getScopedTeam(String id) {
+        return scopedTeams.get(id);
+    }
+
+    /**
+     * Removes a scoped team. In the process, the team is removed from all of its viewers.
+     * @param id The id of the team
+     * @return Whether the team has been removed successfully
+     */
+    public boolean removeScopedTeam(String id) {
+        return remove(scopedTeams, id) && scopedTeams.remove(id) != null;
+    }
+
     /**
      * Removes the provided id from the map and calls {@link AutoCloseable#close()} if
      * it exists.
@@ -328,8 +398,12 @@ public class MTSafeScoreboard implements Closeable {
         playerObjectives.clear();
         closeAll(globalObjectives);
         closeAll(globalTeams);
+        closeAll(scopedObjectives);
+        closeAll(scopedTeams);
         globalObjectives.clear();
         globalTeams.clear();
+        scopedObjectives.clear();
+        scopedTeams.clear();
         HandlerList.unregisterAll(listeners);
     }
 
@@ -373,6 +447,13 @@ public class MTSafeScoreboard implements Closeable {
                     team.removePlayer(player);
                     team.unsubscribe(player);
                 });
+            scopedObjectives.values().forEach(objective -> objective.unsubscribe(player));
+            scopedTeams
+                .values()
+                .forEach(team -> {
+                    team.removePlayer(player);
+                    team.unsubscribe(player);
+                });
             closeAll(playerObjectives.remove(player));
             closeAll(playerTeams.remove(player));
         }
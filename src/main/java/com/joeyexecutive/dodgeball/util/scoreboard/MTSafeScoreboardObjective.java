@@ -4,6 +4,7 @@ import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.wrappers.EnumWrappers;
 import com.google.common.collect.Sets;
+import com.joeyexecutive.dodgeball.profiling.ScoreboardBroadcastEvent;
 import com.joeyexecutive.dodgeball.util.Packets;
 import net.kyori.adventure.text.Component;
 import org.apache.commons.lang3.StringUtils;
@@ -214,12 +215,25 @@ public class MTSafeScoreboardObjective implements Subscribable, AutoCloseable {
     }
 
     private void broadcastScore(String name, int value, EnumWrappers.ScoreboardAction action, Collection<Player> players) {
+        final ScoreboardBroadcastEvent event = new ScoreboardBroadcastEvent();
+        event.begin();
+
         final PacketContainer packet = Packets.create(PacketType.Play.Server.SCOREBOARD_SCORE);
         packet.getStrings().write(0, StringUtils.left(name, 40));
         packet.getStrings().write(1, StringUtils.left(id, 16));
         packet.getIntegers().write(0, value);
         packet.getScoreboardActions().write(0, action);
         Packets.send(packet, players);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "score";
+            event.id = id;
+            event.mode = action.ordinal();
+            event.entries = 1;
+            event.viewers = players.size();
+            event.commit();
+        }
     }
 
     private String cutName(String name) {
@@ -3,6 +3,7 @@ package com.joeyexecutive.dodgeball.util.scoreboard;
 import com.comphenix.protocol.PacketType;
 import com.comphenix.protocol.events.PacketContainer;
 import com.google.common.collect.Sets;
+import com.joeyexecutive.dodgeball.profiling.ScoreboardBroadcastEvent;
 import com.joeyexecutive.dodgeball.util.ChatUtils;
 import com.joeyexecutive.dodgeball.util.Packets;
 import net.kyori.adventure.text.Component;
@@ -216,6 +217,44 @@ public class MTSafeScoreboardTeam implements AutoCloseable, Subscribable {
         }
     }
 
+    /**
+     * Add a group of players to this team. All of the players not already on the team are sent in a single
+     * adding packet.
+     * @param players The players to add
+     */
+    public void addPlayers(Collection<Player> players) {
+        final Set<String> added = new HashSet<>();
+        for (Player player : players) {
+            if (entries.add(player.getName())) {
+                playerMembers.add(player);
+                added.add(player.getName());
+            }
+        }
+
+        if (!added.isEmpty()) {
+            broadcast(MODE_ADD_PLAYERS, added, viewers);
+        }
+    }
+
+    /**
+     * Remove a group of players from this team. All of the players that were on the team are sent in a
+     * single removing packet.
+     * @param players The players to remove
+     */
+    public void removePlayers(Collection<Player> players) {
+        final Set<String> removed = new HashSet<>();
+        for (Player player : players) {
+            playerMembers.remove(player);
+            if (entries.remove(player.getName())) {
+                removed.add(player.getName());
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            broadcast(MODE_REMOVE_PLAYERS, removed, viewers);
+        }
+    }
+
     /**
      * Removes a player from this team. If the player is on the team, a removing packet will be sent.
      * @param player The player to remove
@@ -324,6 +363,9 @@ public class MTSafeScoreboardTeam implements AutoCloseable, Subscribable {
     }
 
     private void broadcast(int mode, Set<String> entriesModified, Collection<Player> sendTo) {
+        final ScoreboardBroadcastEvent event = new ScoreboardBroadcastEvent();
+        event.begin();
+
         final String teamName = ChatUtils.maxLengthStr(id, 16);
 
         ScoreboardTeam scoreboardTeam = new ScoreboardTeam(new Scoreboard(), teamName);
@@ -349,6 +391,16 @@ public class MTSafeScoreboardTeam implements AutoCloseable, Subscribable {
         packet.getStrings().write(0, teamName);
 
         Packets.send(packet, sendTo);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "team";
+            event.id = id;
+            event.mode = mode;
+            event.entries = entriesModified.size();
+            event.viewers = sendTo.size();
+            event.commit();
+        }
     }
 
     private int packOptionData() {
@@ -83,6 +83,20 @@ public class NoFlickerSideBar implements Closeable, Listener {
         }
     }
 
+    /**
+     * Remove the sidebar from a player
+     * @param player The player to remove the sidebar from
+     */
+    public void remove(Player player) {
+        final ScoreboardData data = playerToScoreboardData.remove(player);
+        if (data != null) {
+            data.getObjective().close();
+            data.getLineTeams().forEach(team -> team.getTeam().close());
+            scoreboard.getPlayerObjectives(player).remove(data.getObjective().getId());
+            data.getLineTeams().forEach(team -> scoreboard.getPlayerTeams(player).remove(team.getId()));
+        }
+    }
+
     /**
      * Remove all scoreboard data
      */
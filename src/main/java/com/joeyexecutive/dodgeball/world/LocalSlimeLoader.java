@@ -0,0 +1,197 @@
+package com.joeyexecutive.dodgeball.world;
+
+import com.infernalsuite.aswm.api.exceptions.UnknownWorldException;
+import com.infernalsuite.aswm.api.loaders.SlimeLoader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A {@link SlimeLoader} which reads {@code .slime} files from a local folder using memory-mapped I/O.
+ * Recently loaded maps are kept in memory so repeat loads never touch the disk or the network, bounded by a
+ * byte budget and evicted least recently used first. The bytes are cached as they are on disk: slime files are
+ * already zstd compressed, so deflating them again saved little memory for the CPU it cost on every load
+ */
+public class LocalSlimeLoader implements SlimeLoader {
+
+    /**
+     * The name the loader is registered under in SWM, use this as {@code slimeLoader} in a map config
+     */
+    public static final String NAME = "dodgeball-local";
+
+    private static final String EXTENSION = ".slime";
+
+    private final Path folder;
+
+    private final long maxCacheBytes;
+
+    /**
+     * Access ordered so iteration starts at the least recently used map
+     */
+    private final LinkedHashMap<String, CachedWorld> cache = new LinkedHashMap<>(16, 0.75F, true);
+
+    private long cachedBytes = 0;
+
+    /**
+     * @param folder The folder containing the .slime files
+     * @param maxCacheBytes How many bytes of map data may be held in memory, 0 to disable caching
+     */
+    public LocalSlimeLoader(Path folder, long maxCacheBytes) throws IOException {
+        this.folder = Files.createDirectories(folder);
+        this.maxCacheBytes = maxCacheBytes;
+    }
+
+    @Override
+    public byte[] loadWorld(String worldName) throws UnknownWorldException, IOException {
+        final Path path = resolve(worldName);
+        if (!Files.exists(path)) {
+            throw new UnknownWorldException(worldName);
+        }
+
+        final long size = Files.size(path);
+        final long modified = Files.getLastModifiedTime(path).toMillis();
+
+        final CachedWorld cached;
+        synchronized (cache) {
+            cached = cache.get(worldName);
+        }
+        // copied outside the lock so concurrent loads of different maps don't wait on each other
+        if (cached != null && cached.size == size && cached.modified == modified) {
+            return cached.bytes.clone();
+        }
+
+        final byte[] bytes = readMapped(path, size);
+        if (size <= maxCacheBytes) {
+            cache(worldName, new CachedWorld(bytes.clone(), size, modified));
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean worldExists(String worldName) {
+        return Files.exists(resolve(worldName));
+    }
+
+    @Override
+    public List<String> listWorlds() throws IOException {
+        final List<String> worlds = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(folder)) {
+            paths.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(EXTENSION))
+                    .forEach(name -> worlds.add(name.substring(0, name.length() - EXTENSION.length())));
+        }
+        return worlds;
+    }
+
+    @Override
+    public void saveWorld(String worldName, byte[] serializedWorld) throws IOException {
+        final Path path = resolve(worldName);
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, serializedWorld);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        invalidate(worldName);
+    }
+
+    @Override
+    public void unlockWorld(String worldName) {
+        // maps are read-only templates shared by every game, so they are never locked
+    }
+
+    @Override
+    public boolean isWorldLocked(String worldName) {
+        return false;
+    }
+
+    @Override
+    public void deleteWorld(String worldName) throws UnknownWorldException, IOException {
+        if (!Files.deleteIfExists(resolve(worldName))) {
+            throw new UnknownWorldException(worldName);
+        }
+        invalidate(worldName);
+    }
+
+    /**
+     * @return how many bytes of map data are currently cached
+     */
+    public long getCachedBytes() {
+        synchronized (cache) {
+            return cachedBytes;
+        }
+    }
+
+    private Path resolve(String worldName) {
+        final Path path = folder.resolve(worldName + EXTENSION).normalize();
+        if (!path.getParent().equals(folder.normalize())) {
+            throw new IllegalArgumentException("Invalid world name " + worldName);
+        }
+        return path;
+    }
+
+    private void cache(String worldName, CachedWorld world) {
+        synchronized (cache) {
+            final CachedWorld previous = cache.put(worldName, world);
+            if (previous != null) {
+                cachedBytes -= previous.bytes.length;
+            }
+            cachedBytes += world.bytes.length;
+
+            final Iterator<CachedWorld> iterator = cache.values().iterator();
+            while (cachedBytes > maxCacheBytes && iterator.hasNext()) {
+                cachedBytes -= iterator.next().bytes.length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private void invalidate(String worldName) {
+        synchronized (cache) {
+            final CachedWorld removed = cache.remove(worldName);
+            if (removed != null) {
+                cachedBytes -= removed.bytes.length;
+            }
+        }
+    }
+
+    private static byte[] readMapped(Path path, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(path + " is too large to load");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final byte[] bytes = new byte[(int) size];
+            buffer.get(bytes);
+            return bytes;
+        }
+    }
+
+    private static class CachedWorld {
+
+        /**
+         * Never handed out, every load gets its own copy
+         */
+        private final byte[] bytes;
+
+        private final long size;
+
+        private final long modified;
+
+        private CachedWorld(byte[] bytes, long size, long modified) {
+            this.bytes = bytes;
+            this.size = size;
+            this.modified = modified;
+        }
+
+    }
+
+}
@@ -0,0 +1,260 @@
+package com.joeyexecutive.dodgeball.world;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated, bounded executor for blocking world I/O (SlimeLoader reads, template deserialization).
+ * Loads a player is waiting on always run before background work, and background work is turned away
+ * once the queue is full so a slow loader can't build up an endless backlog
+ */
+public final class WorldLoadExecutor implements Closeable {
+
+    /**
+     * How urgent a load is, lower ordinals run first
+     */
+    public enum Priority {
+        /**
+         * Players are sat in a queue waiting on this world
+         */
+        PLAYER_WAITING,
+        /**
+         * Nobody is waiting on this, e.g. refilling a pool of pre-loaded games
+         */
+        BACKGROUND
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    private final int queueCapacity;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong maxLoadNanos = new AtomicLong();
+
+    /**
+     * @param threads How many loads may run at once
+     * @param queueCapacity How many loads may be queued before background loads are rejected. Loads with
+     *                      {@link Priority#PLAYER_WAITING} are allowed to use twice this
+     */
+    public WorldLoadExecutor(int threads, int queueCapacity) {
+        this.queueCapacity = Math.max(1, queueCapacity);
+
+        final AtomicInteger threadId = new AtomicInteger();
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "Dodgeball World Loader #" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        this.executor = new ThreadPoolExecutor(
+                Math.max(1, threads),
+                Math.max(1, threads),
+                60L,
+                TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(),
+                threadFactory
+        );
+    }
+
+    /**
+     * Queue a blocking load
+     * @param priority How urgent the load is
+     * @param timeout How long the load may take including time spent queued, or null for no timeout
+     * @param callable The load itself
+     * @return A future of the result. Cancelling it, or it timing out, interrupts the load if it is running
+     * and skips it if it is still queued. It completes exceptionally with a {@link RejectedExecutionException}
+     * if the queue is too full to accept the load
+     */
+    public <T> CompletableFuture<T> submit(Priority priority, Duration timeout, Callable<T> callable) {
+        final int limit = priority == Priority.PLAYER_WAITING ? queueCapacity * 2 : queueCapacity;
+        if (pending.incrementAndGet() > limit) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "World load queue is full (" + limit + " pending " + priority + " loads)"));
+        }
+
+        final LoadTask<T> task = new LoadTask<>(priority, sequence.getAndIncrement(), callable);
+
+        if (timeout != null) {
+            task.future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        task.future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                task.interruptIfRunning();
+            }
+        });
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            rejected.increment();
+            task.future.completeExceptionally(e);
+        }
+
+        return task.future;
+    }
+
+    /**
+     * @return how many loads are queued or running right now
+     */
+    public int getPending() {
+        return pending.get();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getCancelled() {
+        return cancelled.sum();
+    }
+
+    /**
+     * @return the mean time loads spent waiting in the queue, in nanoseconds
+     */
+    public long getAverageQueueWaitNanos() {
+        final long count = completed.sum();
+        return count == 0 ? 0 : queueWaitNanos.sum() / count;
+    }
+
+    public long getMaxQueueWaitNanos() {
+        return maxQueueWaitNanos.get();
+    }
+
+    /**
+     * @return the mean time loads spent running, in nanoseconds
+     */
+    public long getAverageLoadNanos() {
+        final long count = completed.sum();
+        return count == 0 ? 0 : loadNanos.sum() / count;
+    }
+
+    public long getMaxLoadNanos() {
+        return maxLoadNanos.get();
+    }
+
+    /**
+     * @return a one line summary of the executor's metrics, used for logging
+     */
+    public String summary() {
+        return String.format(
+                "pending=%d completed=%d rejected=%d cancelled=%d wait(avg/max)=%.1f/%.1fms load(avg/max)=%.1f/%.1fms",
+                getPending(), getCompleted(), getRejected(), getCancelled(),
+                getAverageQueueWaitNanos() / 1_000_000D, getMaxQueueWaitNanos() / 1_000_000D,
+                getAverageLoadNanos() / 1_000_000D, getMaxLoadNanos() / 1_000_000D
+        );
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private final class LoadTask<T> implements Runnable, Comparable<LoadTask<?>> {
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private final Priority priority;
+
+        private final long sequence;
+
+        private final Callable<T> callable;
+
+        private final long queuedAt = System.nanoTime();
+
+        private Thread runner;
+
+        private LoadTask(Priority priority, long sequence, Callable<T> callable) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.callable = callable;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (future.isDone()) {
+                    // cancelled or timed out while still queued
+                    cancelled.increment();
+                    return;
+                }
+
+                final long start = System.nanoTime();
+                record(queueWaitNanos, maxQueueWaitNanos, start - queuedAt);
+
+                synchronized (this) {
+                    runner = Thread.currentThread();
+                }
+                T result = null;
+                Throwable failure = null;
+                try {
+                    result = callable.call();
+                } catch (Throwable throwable) {
+                    failure = throwable;
+                } finally {
+                    synchronized (this) {
+                        runner = null;
+                    }
+                    // clear any interrupt from a cancel that raced the end of the load
+                    Thread.interrupted();
+                }
+
+                record(loadNanos, maxLoadNanos, System.nanoTime() - start);
+
+                if (failure != null) {
+                    future.completeExceptionally(failure);
+                } else {
+                    future.complete(result);
+                }
+                completed.increment();
+            } finally {
+                pending.decrementAndGet();
+            }
+        }
+
+        private synchronized void interruptIfRunning() {
+            if (runner != null) {
+                cancelled.increment();
+                runner.interrupt();
+            }
+        }
+
+        @Override
+        public int compareTo(LoadTask<?> other) {
+            final int byPriority = Integer.compare(priority.ordinal(), other.priority.ordinal());
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+
+    }
+
+    private static void record(LongAdder total, AtomicLong max, long nanos) {
+        total.add(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+}